@@ -26,6 +26,8 @@ dependencies {
     // Redis and Caching
     implementation("org.springframework.boot:spring-boot-starter-data-redis")
     implementation("org.springframework.boot:spring-boot-starter-cache")
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    implementation("org.lz4:lz4-java:1.8.0")
 
     // JTE templating engine
     implementation("gg.jte:jte:3.1.9")
@@ -72,6 +74,27 @@ tasks.withType<Test> {
     finalizedBy(tasks.jacocoTestReport)
 }
 
+tasks.test {
+    useJUnitPlatform {
+        excludeTags("benchmark")
+    }
+}
+
+// Runs the benchmark-tagged tests, e.g. ./gradlew benchmark
+tasks.register<Test>("benchmark") {
+    description = "Runs benchmark tests."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+    setFinalizedBy(emptyList<Any>())
+    testLogging {
+        showStandardStreams = true
+    }
+}
+
 tasks.jacocoTestReport {
     dependsOn(tasks.test)
     reports {
@@ -0,0 +1,124 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer meters describing how one cache is used, tagged with the cache name and backend.
+ * <ul>
+ *     <li>{@code cache.requests} - lookups, tagged {@code result=hit|miss}</li>
+ *     <li>{@code cache.writes} - entries stored, whether put explicitly or loaded on a miss</li>
+ *     <li>{@code cache.invalidations} - explicit evictions, tagged {@code op=evict|clear}</li>
+ *     <li>{@code cache.load.duration} - time spent loading values on a miss, tagged {@code outcome}</li>
+ *     <li>{@code cache.entry.size} - estimated bytes of every stored entry</li>
+ * </ul>
+ * Evictions caused by size or expiry are reported by the backend itself (for example Caffeine's statistics).
+ */
+public class CacheMetrics {
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter writes;
+    private final Counter evictions;
+    private final Counter clears;
+    private final Timer successfulLoads;
+    private final Timer failedLoads;
+    private final DistributionSummary entrySize;
+
+    /**
+     * Registers the meters for a cache.
+     *
+     * @param meterRegistry The registry the meters are registered with
+     * @param cacheName The name of the cache
+     * @param backend The store behind the cache, e.g. {@code redis} or {@code local}
+     */
+    public CacheMetrics(MeterRegistry meterRegistry, String cacheName, String backend) {
+        Tags tags = Tags.of("cache", cacheName, "backend", backend);
+        this.hits = Counter.builder("cache.requests").description("Cache lookups")
+                .tags(tags).tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("cache.requests").description("Cache lookups")
+                .tags(tags).tag("result", "miss").register(meterRegistry);
+        this.writes = Counter.builder("cache.writes").description("Entries stored in the cache")
+                .tags(tags).register(meterRegistry);
+        this.evictions = Counter.builder("cache.invalidations").description("Explicit cache evictions")
+                .tags(tags).tag("op", "evict").register(meterRegistry);
+        this.clears = Counter.builder("cache.invalidations").description("Explicit cache evictions")
+                .tags(tags).tag("op", "clear").register(meterRegistry);
+        this.successfulLoads = Timer.builder("cache.load.duration").description("Time spent loading missing values")
+                .tags(tags).tag("outcome", "success").publishPercentileHistogram().register(meterRegistry);
+        this.failedLoads = Timer.builder("cache.load.duration").description("Time spent loading missing values")
+                .tags(tags).tag("outcome", "failure").publishPercentileHistogram().register(meterRegistry);
+        this.entrySize = DistributionSummary.builder("cache.entry.size").description("Estimated size of stored entries")
+                .baseUnit("bytes").tags(tags).publishPercentileHistogram().register(meterRegistry);
+    }
+
+    public void hit() {
+        hits.increment();
+    }
+
+    public void hits(int count) {
+        hits.increment(count);
+    }
+
+    public void miss() {
+        misses.increment();
+    }
+
+    public void misses(int count) {
+        misses.increment(count);
+    }
+
+    public void evict() {
+        evictions.increment();
+    }
+
+    public void clear() {
+        clears.increment();
+    }
+
+    /**
+     * Records a stored entry and its estimated size.
+     *
+     * @param key The key of the entry
+     * @param value The stored value
+     */
+    public void write(Object key, Object value) {
+        writes.increment();
+        entrySize.record(EntrySizeEstimator.estimate(key) + EntrySizeEstimator.estimate(value));
+    }
+
+    /**
+     * Runs a value loader and records its duration and outcome.
+     *
+     * @param loader The value loader
+     * @return The loaded value
+     * @throws Exception Any exception thrown by the loader
+     */
+    public <T> T timeLoad(Callable<T> loader) throws Exception {
+        long start = System.nanoTime();
+        try {
+            T value = loader.call();
+            successfulLoads.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return value;
+        } catch (Exception | Error e) {
+            failedLoads.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    /**
+     * Records the duration of a load that completed elsewhere, for example asynchronously.
+     *
+     * @param nanos The load duration in nanoseconds
+     * @param success Whether the load produced a value
+     */
+    public void recordLoad(long nanos, boolean success) {
+        (success ? successfulLoads : failedLoads).record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,84 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Reloads cache entries in the background.
+ * At most one reload per cache key is in progress at any time; further requests for the same key are ignored.
+ */
+public class CacheRefresher implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheRefresher.class);
+
+    private final Executor executor;
+    private final Set<RefreshKey> inProgress = ConcurrentHashMap.newKeySet();
+
+    public CacheRefresher(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Schedules a background reload of a cache entry.
+     *
+     * @param cache The cache the reloaded value is written to
+     * @param key The key of the entry to reload
+     * @param valueLoader Loads the fresh value
+     * @return true if a reload was scheduled, false if one is already running or the executor is saturated
+     */
+    public boolean refresh(Cache cache, Object key, Callable<?> valueLoader) {
+        RefreshKey refreshKey = new RefreshKey(cache.getName(), key);
+        if (!inProgress.add(refreshKey)) {
+            return false;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    cache.put(key, valueLoader.call());
+                    logger.debug("Refreshed cache entry {}::{}", cache.getName(), key);
+                } catch (Exception e) {
+                    // Keep serving the current value; it is reloaded synchronously once it hard-expires
+                    logger.warn("Background refresh of {}::{} failed: {}", cache.getName(), key, e.getMessage());
+                } finally {
+                    inProgress.remove(refreshKey);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            inProgress.remove(refreshKey);
+            logger.debug("Refresh executor saturated, skipping refresh of {}::{}", cache.getName(), key);
+            return false;
+        }
+    }
+
+    /**
+     * Checks whether a background reload is currently running for a key.
+     *
+     * @param cacheName The name of the cache
+     * @param key The key of the entry
+     * @return true if a reload is in progress
+     */
+    public boolean isRefreshing(String cacheName, Object key) {
+        return inProgress.contains(new RefreshKey(cacheName, key));
+    }
+
+    @Override
+    public void destroy() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private record RefreshKey(String cacheName, Object key) {
+    }
+}
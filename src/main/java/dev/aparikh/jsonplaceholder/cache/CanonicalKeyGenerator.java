@@ -0,0 +1,133 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Key generator for the generic {@code getForObject(endpoint, responseType[, uriVariables])} lookups.
+ * <p>
+ * The URI template is encoded and expanded with its variables the way {@code RestClient} does it, so a variable
+ * value containing {@code ?}, {@code &}, {@code =} or {@code /} is encoded and cannot collide with a URI that has
+ * those characters literally. Dot segments and trailing slashes are then removed and the query parameters are
+ * sorted by name, so requests that differ only in parameter order share one entry. The key is
+ * {@code v1:<response type> <uri>}; keys longer than the length budget keep a readable prefix and end in the
+ * SHA-256 of the full key, which bounds the size of the Redis key.
+ */
+public class CanonicalKeyGenerator implements KeyGenerator {
+
+    private static final String KEY_VERSION = "v1";
+    private static final int HASH_LENGTH = 64;
+
+    private final int maxLength;
+
+    /**
+     * Creates a key generator.
+     *
+     * @param maxLength The maximum key length in characters; must leave room for the hash suffix
+     */
+    public CanonicalKeyGenerator(int maxLength) {
+        if (maxLength <= HASH_LENGTH + 1) {
+            throw new IllegalArgumentException("maxLength must be greater than " + (HASH_LENGTH + 1));
+        }
+        this.maxLength = maxLength;
+    }
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        if (params.length < 2 || !(params[0] instanceof String endpoint)) {
+            return SimpleKeyGenerator.generateKey(params);
+        }
+        Map<?, ?> uriVariables = params.length > 2 && params[2] instanceof Map<?, ?> map ? map : Map.of();
+        return key(endpoint, params[1], uriVariables);
+    }
+
+    /**
+     * Computes the key for a request.
+     *
+     * @param endpoint The URI template
+     * @param responseType The Class or ParameterizedTypeReference the response is read as
+     * @param uriVariables The variables to expand in the URI template
+     * @return The canonical key, at most the configured length
+     */
+    public String key(String endpoint, Object responseType, Map<?, ?> uriVariables) {
+        String key = KEY_VERSION + ":" + typeName(responseType) + " " + canonicalUri(endpoint, uriVariables);
+        if (key.length() <= maxLength) {
+            return key;
+        }
+        return key.substring(0, maxLength - HASH_LENGTH - 1) + "#" + sha256(key);
+    }
+
+    /**
+     * Encodes and expands a URI template and normalizes it: dot segments and trailing slashes are removed and the
+     * query parameters are sorted by name, keeping the order of repeated values. As in {@code RestClient}'s default
+     * encoding mode, the template is encoded first and every character of a variable value that is not unreserved
+     * is percent-encoded.
+     *
+     * @param endpoint The URI template
+     * @param uriVariables The variables to expand in the URI template
+     * @return The normalized, encoded URI
+     */
+    static String canonicalUri(String endpoint, Map<?, ?> uriVariables) {
+        Map<String, Object> variables = new HashMap<>();
+        uriVariables.forEach((name, value) -> variables.put(String.valueOf(name), value));
+        UriComponents uri = UriComponentsBuilder.fromUriString(endpoint)
+                .encode()
+                .buildAndExpand(variables)
+                .normalize();
+
+        StringBuilder canonical = new StringBuilder();
+        String path = uri.getPath() != null ? uri.getPath() : "";
+        while (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        canonical.append(path.isEmpty() ? "/" : path);
+
+        MultiValueMap<String, String> queryParams = uri.getQueryParams();
+        List<String> names = new ArrayList<>(queryParams.keySet());
+        names.sort(null);
+        char separator = '?';
+        for (String name : names) {
+            for (String value : queryParams.get(name)) {
+                canonical.append(separator).append(name);
+                if (value != null) {
+                    canonical.append('=').append(value);
+                }
+                separator = '&';
+            }
+        }
+        return canonical.toString();
+    }
+
+    private static String typeName(Object responseType) {
+        if (responseType instanceof Class<?> type) {
+            return type.getName();
+        }
+        if (responseType instanceof ParameterizedTypeReference<?> type) {
+            return type.getType().getTypeName();
+        }
+        return String.valueOf(responseType);
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
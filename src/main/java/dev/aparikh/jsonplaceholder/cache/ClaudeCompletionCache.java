@@ -0,0 +1,151 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.aparikh.jsonplaceholder.dto.claude.ClaudeRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import reactor.core.publisher.Mono;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Reactive cache for Claude completion texts.
+ * <p>
+ * Entries are keyed by the SHA-256 of the canonical JSON form of the complete {@link ClaudeRequest}
+ * (model, sampling parameters, system prompt and messages), so different requests never share an entry.
+ * The resolved text is kept in a bounded in-process cache and, when Redis is available, written to Redis
+ * through the reactive driver without blocking the calling thread. Redis failures degrade to a cache miss.
+ * Concurrent requests for the same key share one upstream call. Lookups, loads and entry sizes are published
+ * as {@link CacheMetrics}.
+ */
+public class ClaudeCompletionCache {
+
+    public static final String CACHE_NAME = "claude-completions";
+
+    private static final Logger logger = LoggerFactory.getLogger(ClaudeCompletionCache.class);
+
+    /** Bump when the canonical request form changes so old entries are not reused */
+    private static final String KEY_VERSION = "v1";
+
+    private static final ObjectMapper CANONICAL_MAPPER = JsonMapper.builder()
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .build();
+
+    private final String cacheName;
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final Duration timeToLive;
+    private final Cache<String, String> localCache;
+    private final CacheMetrics metrics;
+    private final ConcurrentMap<String, Mono<String>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a completion cache.
+     *
+     * @param cacheName The cache name, used as the Redis key prefix
+     * @param redisTemplate The reactive Redis template, or null to cache in-process only
+     * @param timeToLive How long a completion is reused
+     * @param maximumBytes The approximate number of bytes held by the in-process cache
+     * @param meterRegistry The registry for cache metrics
+     */
+    public ClaudeCompletionCache(String cacheName, ReactiveStringRedisTemplate redisTemplate,
+                                 Duration timeToLive, long maximumBytes, MeterRegistry meterRegistry) {
+        this.cacheName = cacheName;
+        this.metrics = new CacheMetrics(meterRegistry, cacheName, redisTemplate != null ? "redis" : "local");
+        this.redisTemplate = redisTemplate;
+        this.timeToLive = timeToLive;
+        this.localCache = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .<String, String>weigher((key, text) -> (int) Math.min(Integer.MAX_VALUE,
+                        EntrySizeEstimator.estimate(key) + EntrySizeEstimator.estimate(text)))
+                .expireAfterWrite(timeToLive)
+                .build();
+    }
+
+    /**
+     * Returns the cached completion for a request, calling the loader and caching its result on a miss.
+     *
+     * @param request The request the completion is produced for
+     * @param loader Produces the completion text on a miss
+     * @return A Mono emitting the completion text
+     */
+    public Mono<String> get(ClaudeRequest request, Supplier<Mono<String>> loader) {
+        return Mono.defer(() -> {
+            String key = key(request);
+            String cached = localCache.getIfPresent(key);
+            if (cached != null) {
+                metrics.hit();
+                return Mono.just(cached);
+            }
+            return inFlight.computeIfAbsent(key, k -> readRemote(k)
+                    .doOnNext(text -> metrics.hit())
+                    .switchIfEmpty(Mono.defer(() -> load(k, loader)))
+                    .doOnNext(text -> localCache.put(k, text))
+                    .doFinally(signal -> inFlight.remove(k))
+                    .cache());
+        });
+    }
+
+    /**
+     * Computes the cache key for a request.
+     *
+     * @param request The request
+     * @return The key, {@code <cacheName>::v1:<sha-256 hex>}
+     */
+    public String key(ClaudeRequest request) {
+        try {
+            byte[] canonical = CANONICAL_MAPPER.writeValueAsBytes(request);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical);
+            return cacheName + "::" + KEY_VERSION + ":" + HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not compute cache key for Claude request", e);
+        }
+    }
+
+    private Mono<String> readRemote(String key) {
+        if (redisTemplate == null) {
+            return Mono.empty();
+        }
+        return redisTemplate.opsForValue().get(key)
+                .onErrorResume(e -> {
+                    logger.warn("Reading completion {} from Redis failed: {}", key, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<String> load(String key, Supplier<Mono<String>> loader) {
+        logger.info("Cache miss for completion {}", key);
+        metrics.miss();
+        long start = System.nanoTime();
+        return loader.get()
+                .doOnSuccess(text -> metrics.recordLoad(System.nanoTime() - start, text != null))
+                .doOnError(e -> metrics.recordLoad(System.nanoTime() - start, false))
+                .doOnNext(text -> metrics.write(key, text))
+                .flatMap(text -> writeRemote(key, text).thenReturn(text));
+    }
+
+    private Mono<Boolean> writeRemote(String key, String text) {
+        if (redisTemplate == null) {
+            return Mono.empty();
+        }
+        return redisTemplate.opsForValue().set(key, text, timeToLive)
+                .onErrorResume(e -> {
+                    logger.warn("Writing completion {} to Redis failed: {}", key, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+}
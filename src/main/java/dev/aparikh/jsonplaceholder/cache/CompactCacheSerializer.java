@@ -0,0 +1,324 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import dev.aparikh.jsonplaceholder.model.Post;
+import dev.aparikh.jsonplaceholder.model.RawResponse;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Versioned binary serializer for Redis cache values.
+ * <p>
+ * Posts, post lists, optional posts and raw upstream responses are written with a hand-rolled field codec
+ * (raw response bodies are stored as-is, never parsed), and a {@link ValidatedValue} as its validators followed by
+ * the encoded value; any other value is
+ * written as JSON by {@link GenericJackson2JsonRedisSerializer}. Payloads at or above the compression
+ * threshold are LZ4-compressed when that makes them smaller.
+ * <p>
+ * Layout: {@code magic, version, flags, codec, [uncompressed length], payload}. Values that do not start
+ * with the magic byte were written before this serializer was introduced and are read as JDK-serialized
+ * or JSON data, so existing entries stay readable during a rollout.
+ */
+public class CompactCacheSerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xCB;
+    static final byte VERSION = 1;
+
+    private static final byte FLAG_LZ4 = 1;
+
+    private static final byte CODEC_JSON = 0;
+    private static final byte CODEC_POST = 1;
+    private static final byte CODEC_POST_LIST = 2;
+    private static final byte CODEC_OPTIONAL_POST = 3;
+    private static final byte CODEC_RAW_RESPONSE = 4;
+    private static final byte CODEC_VALIDATED = 5;
+
+    private static final int HEADER_LENGTH = 4;
+
+    private static final LZ4Factory LZ4 = LZ4Factory.fastestInstance();
+
+    private final RedisSerializer<Object> jsonSerializer = new GenericJackson2JsonRedisSerializer();
+    private final RedisSerializer<Object> jdkSerializer = new JdkSerializationRedisSerializer();
+    private final int compressionThreshold;
+
+    /**
+     * Creates a serializer.
+     *
+     * @param compressionThreshold The payload size in bytes from which compression is attempted
+     */
+    public CompactCacheSerializer(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(buffer);
+            byte codec = writePayload(value, out);
+            out.flush();
+            return frame(codec, buffer.toByteArray());
+        } catch (IOException e) {
+            throw new SerializationException("Could not write cache value", e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return readLegacy(bytes);
+        }
+        if (bytes.length < HEADER_LENGTH || bytes[1] > VERSION) {
+            throw new SerializationException("Unsupported cache value format version: " + (bytes.length > 1 ? bytes[1] : -1));
+        }
+
+        try {
+            byte[] payload = (bytes[2] & FLAG_LZ4) != 0
+                    ? decompress(bytes)
+                    : Arrays.copyOfRange(bytes, HEADER_LENGTH, bytes.length);
+            return readPayload(bytes[3], payload);
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Could not read cache value", e);
+        }
+    }
+
+    private byte writePayload(Object value, DataOutputStream out) throws IOException {
+        if (value instanceof Post post) {
+            writePost(post, out);
+            return CODEC_POST;
+        }
+        if (value instanceof Optional<?> optional && optional.map(Post.class::isInstance).orElse(true)) {
+            out.writeBoolean(optional.isPresent());
+            if (optional.isPresent()) {
+                writePost((Post) optional.get(), out);
+            }
+            return CODEC_OPTIONAL_POST;
+        }
+        if (value instanceof List<?> list && !list.isEmpty() && list.stream().allMatch(Post.class::isInstance)) {
+            out.writeInt(list.size());
+            for (Object post : list) {
+                writePost((Post) post, out);
+            }
+            return CODEC_POST_LIST;
+        }
+        if (value instanceof RawResponse raw) {
+            writeRawResponse(raw, out);
+            return CODEC_RAW_RESPONSE;
+        }
+        if (value instanceof ValidatedValue validated) {
+            writeValidated(validated, out);
+            return CODEC_VALIDATED;
+        }
+        out.write(jsonSerializer.serialize(value));
+        return CODEC_JSON;
+    }
+
+    private Object readPayload(byte codec, byte[] payload) throws IOException {
+        if (codec == CODEC_JSON) {
+            Object value = jsonSerializer.deserialize(payload);
+            // Jackson creates a new instance, but caches recognise cached nulls by identity
+            return value instanceof NullValue ? NullValue.INSTANCE : value;
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        switch (codec) {
+            case CODEC_POST:
+                return readPost(in);
+            case CODEC_OPTIONAL_POST:
+                return in.readBoolean() ? Optional.of(readPost(in)) : Optional.empty();
+            case CODEC_POST_LIST:
+                int size = in.readInt();
+                List<Post> posts = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    posts.add(readPost(in));
+                }
+                return posts;
+            case CODEC_RAW_RESPONSE:
+                return readRawResponse(in);
+            case CODEC_VALIDATED:
+                return readValidated(in);
+            default:
+                throw new SerializationException("Unknown cache value codec: " + codec);
+        }
+    }
+
+    private byte[] frame(byte codec, byte[] payload) {
+        byte flags = 0;
+        byte[] body = payload;
+        if (payload.length >= compressionThreshold) {
+            LZ4Compressor compressor = LZ4.fastCompressor();
+            byte[] compressed = new byte[4 + compressor.maxCompressedLength(payload.length)];
+            writeInt(compressed, 0, payload.length);
+            int compressedLength = compressor.compress(payload, 0, payload.length, compressed, 4, compressed.length - 4);
+            if (4 + compressedLength < payload.length) {
+                flags |= FLAG_LZ4;
+                body = Arrays.copyOf(compressed, 4 + compressedLength);
+            }
+        }
+
+        byte[] framed = new byte[HEADER_LENGTH + body.length];
+        framed[0] = MAGIC;
+        framed[1] = VERSION;
+        framed[2] = flags;
+        framed[3] = codec;
+        System.arraycopy(body, 0, framed, HEADER_LENGTH, body.length);
+        return framed;
+    }
+
+    private static byte[] decompress(byte[] bytes) {
+        int length = readInt(bytes, HEADER_LENGTH);
+        byte[] payload = new byte[length];
+        LZ4FastDecompressor decompressor = LZ4.fastDecompressor();
+        decompressor.decompress(bytes, HEADER_LENGTH + 4, payload, 0, length);
+        return payload;
+    }
+
+    private Object readLegacy(byte[] bytes) {
+        // Java serialization streams start with 0xACED; anything else was written as JSON
+        if (bytes.length > 1 && bytes[0] == (byte) 0xAC && bytes[1] == (byte) 0xED) {
+            return jdkSerializer.deserialize(bytes);
+        }
+        return jsonSerializer.deserialize(bytes);
+    }
+
+    private static void writePost(Post post, DataOutputStream out) throws IOException {
+        int present = (post.getId() != null ? 1 : 0)
+                | (post.getUserId() != null ? 2 : 0)
+                | (post.getTitle() != null ? 4 : 0)
+                | (post.getBody() != null ? 8 : 0);
+        out.writeByte(present);
+        if (post.getId() != null) {
+            out.writeLong(post.getId());
+        }
+        if (post.getUserId() != null) {
+            out.writeLong(post.getUserId());
+        }
+        if (post.getTitle() != null) {
+            writeString(post.getTitle(), out);
+        }
+        if (post.getBody() != null) {
+            writeString(post.getBody(), out);
+        }
+    }
+
+    private static Post readPost(DataInputStream in) throws IOException {
+        int present = in.readUnsignedByte();
+        Post post = new Post();
+        if ((present & 1) != 0) {
+            post.setId(in.readLong());
+        }
+        if ((present & 2) != 0) {
+            post.setUserId(in.readLong());
+        }
+        if ((present & 4) != 0) {
+            post.setTitle(readString(in));
+        }
+        if ((present & 8) != 0) {
+            post.setBody(readString(in));
+        }
+        return post;
+    }
+
+    private static void writeRawResponse(RawResponse raw, DataOutputStream out) throws IOException {
+        int present = (raw.contentType() != null ? 1 : 0)
+                | (raw.eTag() != null ? 2 : 0)
+                | (raw.lastModified() != null ? 4 : 0);
+        out.writeByte(present);
+        if (raw.contentType() != null) {
+            writeString(raw.contentType(), out);
+        }
+        if (raw.eTag() != null) {
+            writeString(raw.eTag(), out);
+        }
+        if (raw.lastModified() != null) {
+            writeString(raw.lastModified(), out);
+        }
+        out.writeInt(raw.body().length);
+        out.write(raw.body());
+    }
+
+    private static RawResponse readRawResponse(DataInputStream in) throws IOException {
+        int present = in.readUnsignedByte();
+        String contentType = (present & 1) != 0 ? readString(in) : null;
+        String eTag = (present & 2) != 0 ? readString(in) : null;
+        String lastModified = (present & 4) != 0 ? readString(in) : null;
+        byte[] body = new byte[in.readInt()];
+        in.readFully(body);
+        return new RawResponse(body, contentType, eTag, lastModified);
+    }
+
+    private void writeValidated(ValidatedValue validated, DataOutputStream out) throws IOException {
+        int present = (validated.eTag() != null ? 1 : 0)
+                | (validated.lastModified() != null ? 2 : 0);
+        out.writeByte(present);
+        if (validated.eTag() != null) {
+            writeString(validated.eTag(), out);
+        }
+        if (validated.lastModified() != null) {
+            writeString(validated.lastModified(), out);
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        DataOutputStream valueOut = new DataOutputStream(buffer);
+        byte codec = writePayload(validated.value(), valueOut);
+        valueOut.flush();
+        out.writeByte(codec);
+        buffer.writeTo(out);
+    }
+
+    private ValidatedValue readValidated(DataInputStream in) throws IOException {
+        int present = in.readUnsignedByte();
+        String eTag = (present & 1) != 0 ? readString(in) : null;
+        String lastModified = (present & 2) != 0 ? readString(in) : null;
+        byte codec = in.readByte();
+        return new ValidatedValue(readPayload(codec, in.readAllBytes()), eTag, lastModified);
+    }
+
+    private static void writeString(String value, DataOutputStream out) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] utf8 = new byte[in.readInt()];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static void writeInt(byte[] target, int offset, int value) {
+        target[offset] = (byte) (value >>> 24);
+        target[offset + 1] = (byte) (value >>> 16);
+        target[offset + 2] = (byte) (value >>> 8);
+        target[offset + 3] = (byte) value;
+    }
+
+    private static int readInt(byte[] source, int offset) {
+        return ((source[offset] & 0xFF) << 24)
+                | ((source[offset + 1] & 0xFF) << 16)
+                | ((source[offset + 2] & 0xFF) << 8)
+                | (source[offset + 3] & 0xFF);
+    }
+}
@@ -0,0 +1,47 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Cache manager that applies a decorator to every cache returned by another cache manager.
+ * Decorated caches are created once per name and reused afterwards.
+ */
+public class DecoratingCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final UnaryOperator<Cache> decorator;
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public DecoratingCacheManager(CacheManager delegate, UnaryOperator<Cache> decorator) {
+        this.delegate = delegate;
+        this.decorator = decorator;
+    }
+
+    /**
+     * Returns the cache manager whose caches are decorated.
+     *
+     * @return The decorated cache manager
+     */
+    public CacheManager getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache cache = delegate.getCache(cacheName);
+            return cache != null ? decorator.apply(cache) : null;
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+}
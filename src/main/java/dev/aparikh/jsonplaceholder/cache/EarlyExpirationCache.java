@@ -0,0 +1,149 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Redis cache decorator implementing probabilistic early expiration ("XFetch").
+ * <p>
+ * Every read fetches the entry together with its remaining time-to-live in one round trip. The read is reported
+ * as a miss, so the caller recomputes and rewrites the entry, with probability rising as expiry approaches:
+ * it recomputes when {@code -delta * beta * ln(random) >= remaining TTL}, where {@code delta} is the time a
+ * recompute takes. Nodes sharing Redis therefore rarely refresh a key at the same moment; usually one node
+ * refreshes it shortly before it expires while the others keep reading the cached value.
+ * <p>
+ * {@code delta} is measured on this node as the time between a miss and the write of the recomputed value,
+ * averaged per cache, and starts at a configured default.
+ */
+public class EarlyExpirationCache extends CacheDecorator {
+
+    private static final long MAX_PENDING_LOADS = 10_000;
+    private static final double SMOOTHING = 0.2;
+
+    private final PipelinedRedisCache redisCache;
+    private final double beta;
+    private final DoubleSupplier random;
+    private final Counter earlyExpirations;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Long> pendingLoads = Caffeine.newBuilder()
+            .maximumSize(MAX_PENDING_LOADS)
+            .expireAfterWrite(Duration.ofMinutes(1))
+            .build();
+    private volatile double recomputeMillis;
+
+    /**
+     * Creates an early-expiring cache.
+     *
+     * @param delegate The Redis cache holding the values
+     * @param beta Scales how early entries are recomputed; 1 is the usual choice, larger values refresh earlier
+     * @param initialRecomputeTime The recompute time assumed until one has been measured
+     * @param meterRegistry The registry for the early expiration counter
+     */
+    public EarlyExpirationCache(PipelinedRedisCache delegate, double beta, Duration initialRecomputeTime,
+                                MeterRegistry meterRegistry) {
+        this(delegate, beta, initialRecomputeTime, meterRegistry, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    EarlyExpirationCache(PipelinedRedisCache delegate, double beta, Duration initialRecomputeTime,
+                         MeterRegistry meterRegistry, DoubleSupplier random) {
+        super(delegate);
+        this.redisCache = delegate;
+        this.beta = beta;
+        this.random = random;
+        this.recomputeMillis = initialRecomputeTime.toMillis();
+        this.earlyExpirations = Counter.builder("cache.early.expirations")
+                .description("Cache reads turned into misses to recompute an entry before it expires")
+                .tag("cache", delegate.getName())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        PipelinedRedisCache.ExpiringValue entry = redisCache.getWithTimeToLive(key);
+        if (entry == null) {
+            pendingLoads.put(key, System.nanoTime());
+            return null;
+        }
+        Duration timeToLive = entry.timeToLive();
+        if (timeToLive != null && shouldRecompute(timeToLive.toMillis(), recomputeMillis, beta, random.getAsDouble())) {
+            earlyExpirations.increment();
+            pendingLoads.put(key, System.nanoTime());
+            return null;
+        }
+        return entry.value();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        Long missedAt = pendingLoads.asMap().remove(key);
+        if (missedAt != null) {
+            recordRecomputeTime((System.nanoTime() - missedAt) / 1_000_000.0);
+        }
+    }
+
+    /**
+     * Returns the current estimate of how long a recompute takes.
+     *
+     * @return The smoothed recompute time in milliseconds
+     */
+    public double getRecomputeMillis() {
+        return recomputeMillis;
+    }
+
+    /**
+     * Decides whether a read recomputes an entry early.
+     *
+     * @param remainingMillis The entry's remaining time-to-live
+     * @param recomputeMillis The time a recompute takes
+     * @param beta The eagerness factor
+     * @param random A uniformly distributed number in [0, 1)
+     * @return true if the entry should be recomputed now
+     */
+    static boolean shouldRecompute(long remainingMillis, double recomputeMillis, double beta, double random) {
+        if (remainingMillis <= 0) {
+            return true;
+        }
+        // ln(0) is -infinity, so map the open end of the range to the closed one
+        double u = 1.0 - random;
+        return -recomputeMillis * beta * Math.log(u) >= remainingMillis;
+    }
+
+    private synchronized void recordRecomputeTime(double millis) {
+        recomputeMillis += SMOOTHING * (millis - recomputeMillis);
+    }
+}
@@ -0,0 +1,101 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import dev.aparikh.jsonplaceholder.model.Post;
+import dev.aparikh.jsonplaceholder.model.RawResponse;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Estimates the retained heap size of cached keys and values.
+ * The estimate is shallow arithmetic over the object graph (no reflection or instrumentation),
+ * accurate enough to weigh entries against a byte budget.
+ */
+public final class EntrySizeEstimator {
+
+    private static final int OBJECT_HEADER = 16;
+    private static final int REFERENCE = 8;
+    private static final int MAX_DEPTH = 32;
+
+    private EntrySizeEstimator() {
+    }
+
+    /**
+     * Estimates the number of bytes retained by an object.
+     *
+     * @param value The object to measure
+     * @return The estimated size in bytes
+     */
+    public static long estimate(Object value) {
+        return estimate(value, 0);
+    }
+
+    private static long estimate(Object value, int depth) {
+        if (value == null) {
+            return 0;
+        }
+        if (depth > MAX_DEPTH) {
+            return OBJECT_HEADER;
+        }
+
+        if (value instanceof String string) {
+            // String object plus its backing array (Latin-1 strings use one byte per character)
+            return OBJECT_HEADER + 24 + (long) string.length() * (isLatin1(string) ? 1 : 2);
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character) {
+            return OBJECT_HEADER + REFERENCE;
+        }
+        if (value instanceof byte[] bytes) {
+            return OBJECT_HEADER + bytes.length;
+        }
+        if (value instanceof Post post) {
+            return OBJECT_HEADER + 4L * REFERENCE
+                    + estimate(post.getId(), depth + 1)
+                    + estimate(post.getUserId(), depth + 1)
+                    + estimate(post.getTitle(), depth + 1)
+                    + estimate(post.getBody(), depth + 1);
+        }
+        if (value instanceof RawResponse raw) {
+            return OBJECT_HEADER + 4L * REFERENCE
+                    + estimate(raw.body(), depth + 1)
+                    + estimate(raw.contentType(), depth + 1)
+                    + estimate(raw.eTag(), depth + 1)
+                    + estimate(raw.lastModified(), depth + 1);
+        }
+        if (value instanceof ValidatedValue validated) {
+            return OBJECT_HEADER + 3L * REFERENCE
+                    + estimate(validated.value(), depth + 1)
+                    + estimate(validated.eTag(), depth + 1)
+                    + estimate(validated.lastModified(), depth + 1);
+        }
+        if (value instanceof Optional<?> optional) {
+            return OBJECT_HEADER + REFERENCE + estimate(optional.orElse(null), depth + 1);
+        }
+        if (value instanceof Collection<?> collection) {
+            long size = OBJECT_HEADER + 24 + (long) collection.size() * REFERENCE;
+            for (Object element : collection) {
+                size += estimate(element, depth + 1);
+            }
+            return size;
+        }
+        if (value instanceof Map<?, ?> map) {
+            // Hash table plus one node (header, hash, key, value, next) per entry
+            long size = OBJECT_HEADER + 48 + (long) map.size() * (REFERENCE + OBJECT_HEADER + 24);
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                size += estimate(entry.getKey(), depth + 1) + estimate(entry.getValue(), depth + 1);
+            }
+            return size;
+        }
+        return OBJECT_HEADER + 4L * REFERENCE;
+    }
+
+    private static boolean isLatin1(String string) {
+        for (int i = 0; i < string.length(); i++) {
+            if (string.charAt(i) > 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,44 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+
+/**
+ * Cache that can tell how long an entry has left before its store expires it, for example from Redis PTTL.
+ * The remaining time is shared by every node reading the store, so it also tells how old an entry written
+ * elsewhere is.
+ */
+public interface ExpiringCache {
+
+    /**
+     * Returns the remaining time-to-live of an entry.
+     *
+     * @param key The cache key
+     * @return The remaining time-to-live, or null if the entry is not cached, does not expire or its expiry is unknown
+     */
+    Duration getTimeToLive(Object key);
+
+    /**
+     * Returns the remaining time-to-live of an entry in a cache, using the cache's own support if it has it and the
+     * variable expiry policy of a Caffeine-backed cache otherwise.
+     *
+     * @param cache The cache to ask
+     * @param key The cache key
+     * @return The remaining time-to-live, or null if unknown
+     */
+    static Duration getTimeToLive(Cache cache, Object key) {
+        if (cache instanceof ExpiringCache expiringCache) {
+            return expiringCache.getTimeToLive(key);
+        }
+        if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            @SuppressWarnings("unchecked")
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache =
+                    (com.github.benmanes.caffeine.cache.Cache<Object, Object>) caffeine;
+            return nativeCache.policy().expireVariably()
+                    .flatMap(expiry -> expiry.getExpiresAfter(key))
+                    .orElse(null);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,131 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Cache decorator that publishes {@link CacheMetrics} for every operation.
+ * A lookup through {@link #get(Object, Callable)} counts as a miss when this caller's loader ran, and as a hit
+ * otherwise (including callers that shared another caller's in-flight load). The meters of each operation are
+ * chosen when it completes, so a cache that switches between stores can report every call against the store that
+ * served it.
+ */
+public class InstrumentedCache extends CacheDecorator {
+
+    private final Supplier<CacheMetrics> metrics;
+
+    public InstrumentedCache(Cache delegate, CacheMetrics metrics) {
+        this(delegate, () -> metrics);
+    }
+
+    /**
+     * Creates an instrumented cache whose meters may change from call to call.
+     *
+     * @param delegate The cache to instrument
+     * @param metrics Supplies the meters for the operation that just ran on the current thread
+     */
+    public InstrumentedCache(Cache delegate, Supplier<CacheMetrics> metrics) {
+        super(delegate);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper wrapper = delegate.get(key);
+        record(wrapper != null);
+        return wrapper;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        T value = delegate.get(key, type);
+        record(value != null);
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        AtomicBoolean loaded = new AtomicBoolean();
+        try {
+            return delegate.get(key, () -> {
+                loaded.set(true);
+                T loadedValue = metrics.get().timeLoad(valueLoader);
+                metrics.get().write(key, loadedValue);
+                return loadedValue;
+            });
+        } finally {
+            // A failed load is still a miss
+            record(!loaded.get());
+        }
+    }
+
+    @Override
+    public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+        Map<Object, ValueWrapper> found = super.getAll(keys);
+        metrics.get().hits(found.size());
+        metrics.get().misses(keys.size() - found.size());
+        return found;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        metrics.get().write(key, value);
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        super.putAll(entries);
+        entries.forEach(metrics.get()::write);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null) {
+            metrics.get().write(key, value);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        metrics.get().evict();
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = delegate.evictIfPresent(key);
+        if (evicted) {
+            metrics.get().evict();
+        }
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        metrics.get().clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = delegate.invalidate();
+        metrics.get().clear();
+        return invalidated;
+    }
+
+    private void record(boolean hit) {
+        if (hit) {
+            metrics.get().hit();
+        } else {
+            metrics.get().miss();
+        }
+    }
+}
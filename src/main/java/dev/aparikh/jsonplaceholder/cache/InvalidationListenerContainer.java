@@ -0,0 +1,77 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listener container for near cache invalidations that does not need Redis to be up when it starts.
+ * <p>
+ * The caches keep serving from memory while Redis is unavailable, so a failed subscription must not fail
+ * application startup. Instead it is logged and retried in the background until it succeeds or the container
+ * is stopped.
+ */
+public class InvalidationListenerContainer extends RedisMessageListenerContainer {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvalidationListenerContainer.class);
+
+    private final Duration retryInterval;
+    private final ScheduledExecutorService retries = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cache-invalidation-subscriber");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean stopped;
+
+    /**
+     * Creates a container.
+     *
+     * @param retryInterval How long to wait before subscribing again after a failed attempt
+     */
+    public InvalidationListenerContainer(Duration retryInterval) {
+        this.retryInterval = retryInterval;
+    }
+
+    @Override
+    public void start() {
+        stopped = false;
+        subscribe();
+    }
+
+    @Override
+    public void stop() {
+        stopped = true;
+        super.stop();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        stopped = true;
+        retries.shutdownNow();
+        super.destroy();
+    }
+
+    private void subscribe() {
+        try {
+            super.start();
+        } catch (DataAccessException e) {
+            logger.warn("Could not subscribe to near cache invalidations, retrying in {}: {}",
+                    retryInterval, e.getMessage());
+            // A failed start leaves the container running but not listening; reset it so the next start retries
+            super.stop();
+            if (!stopped && !retries.isShutdown()) {
+                retries.schedule(() -> {
+                    if (!stopped) {
+                        subscribe();
+                    }
+                }, retryInterval.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+}
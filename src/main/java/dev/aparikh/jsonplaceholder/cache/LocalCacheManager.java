@@ -0,0 +1,49 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.function.Function;
+
+/**
+ * In-process cache manager backed by Caffeine.
+ * Each cache is built from its own Caffeine spec (size bound, expiry), so caches are bounded
+ * independently, and records statistics that are published to Micrometer tagged with {@code backend=local}.
+ */
+public class LocalCacheManager extends CaffeineCacheManager {
+
+    private final Function<String, Caffeine<Object, Object>> cacheBuilders;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Creates a local cache manager.
+     *
+     * @param cacheBuilders Returns the Caffeine builder for a given cache name
+     * @param meterRegistry The registry the cache statistics are published to
+     */
+    public LocalCacheManager(Function<String, Caffeine<Object, Object>> cacheBuilders, MeterRegistry meterRegistry) {
+        this.cacheBuilders = cacheBuilders;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected com.github.benmanes.caffeine.cache.Cache<Object, Object> createNativeCaffeineCache(String name) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> cache = cacheBuilders.apply(name)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name, "backend", "local");
+        Gauge.builder("cache.weighted.size", cache, c -> c.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0L))
+                        .orElse(0L))
+                .description("Estimated bytes held by the cache")
+                .baseUnit("bytes")
+                .tag("cache", name)
+                .tag("backend", "local")
+                .register(meterRegistry);
+        return cache;
+    }
+}
@@ -0,0 +1,366 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import com.github.benmanes.caffeine.cache.Policy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checkpoints the in-process (Caffeine) cache tier to a local file and reloads it on startup.
+ * <p>
+ * Every checkpoint writes all entries with their remaining time-to-live to a temporary file that then atomically
+ * replaces the previous snapshot, so a crash mid-write never leaves a torn file behind. Keys are written with a
+ * typed codec that only knows {@code Long}, {@code String} and {@link SimpleKey#EMPTY} keys (entries with other
+ * keys are left out), and values use the {@link CompactCacheSerializer}. Checkpoints that would find every cache
+ * empty (for example right after the in-memory caches were cleared because Redis came back) keep the previous
+ * snapshot.
+ * <p>
+ * Nothing in the file is ever read with Java deserialization: values are only restored from the compact format,
+ * never from its JDK-serialized legacy fallback. The directory and file are created readable by their owner only,
+ * and a snapshot that is not owned by the current user or that other users can modify is ignored.
+ * <p>
+ * On startup the snapshot is loaded before the application takes traffic. Entries that expired since the checkpoint
+ * are skipped; the others are restored with their remaining time-to-live and reported by {@link #restoredKeys}, so
+ * the refresh-ahead layer can mark them stale and revalidate them in the background on first use.
+ */
+public class LocalCacheSnapshot implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalCacheSnapshot.class);
+
+    static final int MAGIC = 0x4C435331;
+    static final byte VERSION = 2;
+
+    private static final byte KEY_LONG = 1;
+    private static final byte KEY_STRING = 2;
+    private static final byte KEY_EMPTY = 3;
+
+    private static final Set<PosixFilePermission> OWNER_ONLY_DIRECTORY = PosixFilePermissions.fromString("rwx------");
+    private static final Set<PosixFilePermission> OWNER_ONLY_FILE = PosixFilePermissions.fromString("rw-------");
+
+    private final Path file;
+    private final Duration checkpointInterval;
+    private final Clock clock;
+    private final RedisSerializer<Object> valueSerializer;
+    private final Map<String, Set<Object>> restoredKeys = new ConcurrentHashMap<>();
+    private volatile CacheManager cacheManager;
+    private volatile ScheduledExecutorService scheduler;
+
+    /**
+     * Creates a cache snapshot.
+     *
+     * @param file The snapshot file
+     * @param checkpointInterval How often the caches are written to the file
+     * @param compressionThreshold The value size in bytes from which values are LZ4-compressed
+     */
+    public LocalCacheSnapshot(Path file, Duration checkpointInterval, int compressionThreshold) {
+        this(file, checkpointInterval, compressionThreshold, Clock.systemUTC());
+    }
+
+    LocalCacheSnapshot(Path file, Duration checkpointInterval, int compressionThreshold, Clock clock) {
+        this.file = file;
+        this.checkpointInterval = checkpointInterval;
+        this.clock = clock;
+        this.valueSerializer = new CompactCacheSerializer(compressionThreshold);
+    }
+
+    /**
+     * Restores the snapshot into the caches of a local cache manager and starts periodic checkpoints of them.
+     *
+     * @param localCacheManager The cache manager whose caches are backed by Caffeine
+     * @return The number of entries restored
+     */
+    public int attach(CacheManager localCacheManager) {
+        this.cacheManager = localCacheManager;
+        int restored = restore();
+
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler = executor;
+        long period = checkpointInterval.toMillis();
+        executor.scheduleWithFixedDelay(this::checkpointQuietly, period, period, TimeUnit.MILLISECONDS);
+        return restored;
+    }
+
+    /**
+     * Returns the keys of a cache that were restored from the snapshot.
+     *
+     * @param cacheName The name of the cache
+     * @return The restored keys, empty if none were restored
+     */
+    public Set<Object> restoredKeys(String cacheName) {
+        return restoredKeys.getOrDefault(cacheName, Set.of());
+    }
+
+    /**
+     * Writes all cache entries to the snapshot file.
+     *
+     * @return The number of entries written, 0 if the caches were empty and the previous snapshot was kept
+     * @throws IOException If the snapshot could not be written
+     */
+    public int checkpoint() throws IOException {
+        CacheManager caches = cacheManager;
+        if (caches == null) {
+            return 0;
+        }
+
+        Path directory = file.toAbsolutePath().getParent();
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.deleteIfExists(temporary);
+        if (isPosix(directory)) {
+            Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(OWNER_ONLY_DIRECTORY));
+            Files.createFile(temporary, PosixFilePermissions.asFileAttribute(OWNER_ONLY_FILE));
+        } else {
+            Files.createDirectories(directory);
+        }
+        int written = 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(clock.millis());
+            for (String name : caches.getCacheNames()) {
+                com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = nativeCache(caches.getCache(name));
+                if (nativeCache == null) {
+                    continue;
+                }
+                Optional<Policy.VarExpiration<Object, Object>> expiration = nativeCache.policy().expireVariably();
+                for (Map.Entry<Object, Object> entry : nativeCache.asMap().entrySet()) {
+                    long remainingMillis = expiration
+                            .flatMap(policy -> policy.getExpiresAfter(entry.getKey()))
+                            .map(Duration::toMillis)
+                            .orElse(Long.MAX_VALUE);
+                    if (writeEntry(out, name, entry.getKey(), entry.getValue(), remainingMillis)) {
+                        written++;
+                    }
+                }
+            }
+        }
+
+        if (written == 0) {
+            Files.deleteIfExists(temporary);
+            return 0;
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        logger.debug("Checkpointed {} cache entries to {}", written, file);
+        return written;
+    }
+
+    @Override
+    public void destroy() {
+        ScheduledExecutorService executor = scheduler;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        checkpointQuietly();
+    }
+
+    private int restore() {
+        if (!Files.isRegularFile(file)) {
+            return 0;
+        }
+
+        int restored = 0;
+        long fileSize;
+        try {
+            if (!isTrusted(file)) {
+                logger.warn("Ignoring cache snapshot {}: it is not owned by this user or others can modify it", file);
+                return 0;
+            }
+            fileSize = Files.size(file);
+        } catch (IOException e) {
+            logger.warn("Could not check cache snapshot {}: {}", file, e.getMessage());
+            return 0;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+                logger.warn("Ignoring cache snapshot {} written in an unknown format", file);
+                return 0;
+            }
+            long elapsedMillis = Math.max(0, clock.millis() - in.readLong());
+            while (true) {
+                String name;
+                try {
+                    name = in.readUTF();
+                } catch (EOFException e) {
+                    break;
+                }
+                long remainingMillis = in.readLong();
+                byte[] key = readBytes(in, fileSize);
+                byte[] value = readBytes(in, fileSize);
+                if (remainingMillis != Long.MAX_VALUE) {
+                    remainingMillis -= elapsedMillis;
+                    if (remainingMillis <= 0) {
+                        continue;
+                    }
+                }
+                if (restoreEntry(name, key, value, remainingMillis)) {
+                    restored++;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not read cache snapshot {}, restored {} entries: {}", file, restored, e.getMessage());
+        }
+        logger.info("Restored {} cache entries from {}", restored, file);
+        return restored;
+    }
+
+    private boolean writeEntry(DataOutputStream out, String cacheName, Object key, Object value,
+                               long remainingMillis) throws IOException {
+        byte[] keyBytes = encodeKey(key);
+        if (keyBytes == null) {
+            logger.debug("Skipping cache entry {}::{} in snapshot: unsupported key type", cacheName, key);
+            return false;
+        }
+        byte[] valueBytes;
+        try {
+            valueBytes = valueSerializer.serialize(value);
+        } catch (RuntimeException e) {
+            logger.debug("Skipping cache entry {}::{} in snapshot: {}", cacheName, key, e.getMessage());
+            return false;
+        }
+        out.writeUTF(cacheName);
+        out.writeLong(remainingMillis);
+        out.writeInt(keyBytes.length);
+        out.write(keyBytes);
+        out.writeInt(valueBytes.length);
+        out.write(valueBytes);
+        return true;
+    }
+
+    private boolean restoreEntry(String cacheName, byte[] keyBytes, byte[] valueBytes, long remainingMillis) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache =
+                nativeCache(cacheManager.getCache(cacheName));
+        if (nativeCache == null) {
+            return false;
+        }
+        if (valueBytes.length == 0 || valueBytes[0] != CompactCacheSerializer.MAGIC) {
+            // Only the compact format; its legacy fallback would read JDK-serialized data
+            logger.debug("Skipping entry of cache '{}' in snapshot: value is not in the compact format", cacheName);
+            return false;
+        }
+        Object key;
+        Object value;
+        try {
+            key = decodeKey(keyBytes);
+            value = valueSerializer.deserialize(valueBytes);
+        } catch (RuntimeException e) {
+            logger.debug("Skipping unreadable entry of cache '{}' in snapshot: {}", cacheName, e.getMessage());
+            return false;
+        }
+        if (key == null || value == null) {
+            return false;
+        }
+
+        Optional<Policy.VarExpiration<Object, Object>> expiration = nativeCache.policy().expireVariably();
+        if (expiration.isPresent() && remainingMillis != Long.MAX_VALUE) {
+            expiration.get().put(key, value, Duration.ofMillis(remainingMillis));
+        } else {
+            nativeCache.put(key, value);
+        }
+        restoredKeys.computeIfAbsent(cacheName, name -> ConcurrentHashMap.newKeySet()).add(key);
+        return true;
+    }
+
+    private void checkpointQuietly() {
+        try {
+            checkpoint();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not checkpoint caches to {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static byte[] readBytes(DataInputStream in, long fileSize) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > fileSize) {
+            throw new IOException("Invalid entry length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    static byte[] encodeKey(Object key) {
+        if (key instanceof Long id) {
+            return ByteBuffer.allocate(Byte.BYTES + Long.BYTES).put(KEY_LONG).putLong(id).array();
+        }
+        if (key instanceof String text) {
+            byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+            return ByteBuffer.allocate(Byte.BYTES + utf8.length).put(KEY_STRING).put(utf8).array();
+        }
+        if (SimpleKey.EMPTY.equals(key)) {
+            return new byte[]{KEY_EMPTY};
+        }
+        return null;
+    }
+
+    static Object decodeKey(byte[] bytes) {
+        if (bytes.length == Byte.BYTES + Long.BYTES && bytes[0] == KEY_LONG) {
+            return ByteBuffer.wrap(bytes, Byte.BYTES, Long.BYTES).getLong();
+        }
+        if (bytes.length >= Byte.BYTES && bytes[0] == KEY_STRING) {
+            return new String(bytes, Byte.BYTES, bytes.length - Byte.BYTES, StandardCharsets.UTF_8);
+        }
+        if (bytes.length == Byte.BYTES && bytes[0] == KEY_EMPTY) {
+            return SimpleKey.EMPTY;
+        }
+        throw new IllegalArgumentException("Unsupported key encoding");
+    }
+
+    private static boolean isTrusted(Path file) throws IOException {
+        if (!isPosix(file)) {
+            return true;
+        }
+        String user = System.getProperty("user.name");
+        for (Path path : List.of(file, file.toAbsolutePath().getParent())) {
+            Set<PosixFilePermission> permissions = Files.getPosixFilePermissions(path);
+            if (!Files.getOwner(path).getName().equals(user)
+                    || permissions.contains(PosixFilePermission.GROUP_WRITE)
+                    || permissions.contains(PosixFilePermission.OTHERS_WRITE)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isPosix(Path path) {
+        return path.getFileSystem().supportedFileAttributeViews().contains("posix");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache(Cache cache) {
+        if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+            return (com.github.benmanes.caffeine.cache.Cache<Object, Object>) nativeCache;
+        }
+        return null;
+    }
+}
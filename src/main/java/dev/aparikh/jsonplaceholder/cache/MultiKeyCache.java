@@ -0,0 +1,63 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cache that can read or write many entries in one operation, for example with a single Redis MGET or pipeline.
+ */
+public interface MultiKeyCache {
+
+    /**
+     * Looks up several keys at once.
+     *
+     * @param keys The keys to look up
+     * @return The entries found, by key; keys without an entry are absent from the map
+     */
+    Map<Object, Cache.ValueWrapper> getAll(Collection<?> keys);
+
+    /**
+     * Stores all given entries.
+     *
+     * @param entries The keys and values to store
+     */
+    void putAll(Map<?, ?> entries);
+
+    /**
+     * Looks up several keys in a cache, in one operation if the cache supports it and one by one otherwise.
+     *
+     * @param cache The cache to read from
+     * @param keys The keys to look up
+     * @return The entries found, by key
+     */
+    static Map<Object, Cache.ValueWrapper> getAll(Cache cache, Collection<?> keys) {
+        if (cache instanceof MultiKeyCache multiKeyCache) {
+            return multiKeyCache.getAll(keys);
+        }
+        Map<Object, Cache.ValueWrapper> found = new HashMap<>();
+        for (Object key : keys) {
+            Cache.ValueWrapper wrapper = cache.get(key);
+            if (wrapper != null) {
+                found.put(key, wrapper);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Stores all given entries in a cache, in one operation if the cache supports it and one by one otherwise.
+     *
+     * @param cache The cache to write to
+     * @param entries The keys and values to store
+     */
+    static void putAll(Cache cache, Map<?, ?> entries) {
+        if (cache instanceof MultiKeyCache multiKeyCache) {
+            multiKeyCache.putAll(entries);
+        } else {
+            entries.forEach(cache::put);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Publishes and applies near cache invalidations over Redis pub/sub.
+ * Every write to the shared cache is announced on a topic so other nodes can drop their local copy.
+ */
+public class NearCacheInvalidator implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(NearCacheInvalidator.class);
+    private static final String EVICT = "evict";
+    private static final String CLEAR = "clear";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String topic;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, Cache> localCaches = new ConcurrentHashMap<>();
+
+    public NearCacheInvalidator(StringRedisTemplate redisTemplate, String topic) {
+        this.redisTemplate = redisTemplate;
+        this.topic = topic;
+    }
+
+    /**
+     * Registers a local cache so invalidations received for its name are applied to it.
+     *
+     * @param localCache The local cache to register
+     */
+    public void register(Cache localCache) {
+        localCaches.put(localCache.getName(), localCache);
+    }
+
+    /**
+     * Tells other nodes to drop their local copy of a key.
+     *
+     * @param cacheName The name of the cache
+     * @param key The local form of the key
+     */
+    public void publishEvict(String cacheName, String key) {
+        publish(cacheName, EVICT, key);
+    }
+
+    /**
+     * Tells other nodes to clear their local copy of a cache.
+     *
+     * @param cacheName The name of the cache
+     */
+    public void publishClear(String cacheName) {
+        publish(cacheName, CLEAR, "");
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\n", 4);
+        if (parts.length < 4 || nodeId.equals(parts[0])) {
+            return;
+        }
+
+        Cache localCache = localCaches.get(parts[1]);
+        if (localCache == null) {
+            return;
+        }
+
+        if (CLEAR.equals(parts[2])) {
+            localCache.clear();
+        } else {
+            localCache.evict(parts[3]);
+        }
+    }
+
+    private void publish(String cacheName, String operation, String key) {
+        try {
+            redisTemplate.convertAndSend(topic, String.join("\n", nodeId, cacheName, operation, key));
+        } catch (Exception e) {
+            // The write already reached Redis; other nodes fall back to their near cache TTL
+            logger.warn("Failed to publish near cache invalidation for {}::{}: {}", cacheName, key, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+
+/**
+ * Caffeine expiry that removes entries a fixed time after they were written, using a shorter time for
+ * negative results (see {@link NegativeResults}).
+ */
+public class NegativeAwareExpiry implements Expiry<Object, Object> {
+
+    private final long timeToLiveNanos;
+    private final long negativeTimeToLiveNanos;
+
+    /**
+     * Creates an expiry policy.
+     *
+     * @param timeToLive How long regular entries are kept after being written
+     * @param negativeTimeToLive How long negative results are kept after being written
+     */
+    public NegativeAwareExpiry(Duration timeToLive, Duration negativeTimeToLive) {
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.negativeTimeToLiveNanos = negativeTimeToLive.toNanos();
+    }
+
+    @Override
+    public long expireAfterCreate(Object key, Object value, long currentTime) {
+        return NegativeResults.isNegative(value) ? negativeTimeToLiveNanos : timeToLiveNanos;
+    }
+
+    @Override
+    public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+        return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+}
@@ -0,0 +1,28 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import org.springframework.cache.support.NullValue;
+
+import java.util.Optional;
+
+/**
+ * Recognizes cached "not found" results, which are kept for a shorter time than regular entries.
+ * Services express a definitive miss (for example an upstream 404) by returning {@code null} or an empty
+ * {@link Optional}; failures are thrown instead and therefore never cached.
+ */
+public final class NegativeResults {
+
+    private NegativeResults() {
+    }
+
+    /**
+     * Checks whether a cache value records that nothing was found.
+     *
+     * @param value The cached value, possibly wrapped as {@link NullValue}
+     * @return true for null, {@link NullValue} and empty Optionals
+     */
+    public static boolean isNegative(Object value) {
+        return value == null
+                || value instanceof NullValue
+                || value instanceof Optional<?> optional && optional.isEmpty();
+    }
+}
@@ -0,0 +1,122 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis cache that reads batches of entries with a single MGET and writes them in a single pipeline,
+ * instead of one round trip per entry. Single entries can also be read together with their remaining TTL, and the
+ * remaining TTL can be read on its own.
+ */
+public class PipelinedRedisCache extends RedisCache implements MultiKeyCache, ExpiringCache {
+
+    private final RedisConnectionFactory connectionFactory;
+
+    public PipelinedRedisCache(String name, RedisCacheWriter cacheWriter, RedisCacheConfiguration cacheConfiguration,
+                               RedisConnectionFactory connectionFactory) {
+        super(name, cacheWriter, cacheConfiguration);
+        this.connectionFactory = connectionFactory;
+    }
+
+    /**
+     * Reads an entry and its remaining time-to-live with one pipelined GET and PTTL.
+     *
+     * @param key The cache key
+     * @return The entry, or null if it is not cached
+     */
+    public ExpiringValue getWithTimeToLive(Object key) {
+        byte[] redisKey = serializeCacheKey(createCacheKey(key));
+        List<Object> results;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            connection.stringCommands().get(redisKey);
+            connection.keyCommands().pTtl(redisKey);
+            results = connection.closePipeline();
+        }
+
+        if (results.size() < 2 || !(results.get(0) instanceof byte[] value)) {
+            return null;
+        }
+        // PTTL answers -1 for keys without an expiry and -2 for keys that expired in between
+        Duration timeToLive = results.get(1) instanceof Long millis && millis >= 0 ? Duration.ofMillis(millis) : null;
+        return new ExpiringValue(new SimpleValueWrapper(fromStoreValue(deserializeCacheValue(value))), timeToLive);
+    }
+
+    @Override
+    public Duration getTimeToLive(Object key) {
+        Long millis;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            millis = connection.keyCommands().pTtl(serializeCacheKey(createCacheKey(key)));
+        }
+        // PTTL answers -1 for keys without an expiry and -2 for missing keys
+        return millis != null && millis >= 0 ? Duration.ofMillis(millis) : null;
+    }
+
+    @Override
+    public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+
+        List<Object> orderedKeys = new ArrayList<>(keys);
+        byte[][] redisKeys = new byte[orderedKeys.size()][];
+        for (int i = 0; i < redisKeys.length; i++) {
+            redisKeys[i] = serializeCacheKey(createCacheKey(orderedKeys.get(i)));
+        }
+
+        List<byte[]> values;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            values = connection.stringCommands().mGet(redisKeys);
+        }
+
+        Map<Object, ValueWrapper> found = new HashMap<>();
+        for (int i = 0; values != null && i < values.size(); i++) {
+            byte[] value = values.get(i);
+            if (value != null) {
+                found.put(orderedKeys.get(i), new SimpleValueWrapper(fromStoreValue(deserializeCacheValue(value))));
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            entries.forEach((key, value) -> {
+                Object storeValue = toStoreValue(value);
+                Duration ttl = getCacheConfiguration().getTtlFunction().getTimeToLive(key, value);
+                connection.stringCommands().set(serializeCacheKey(createCacheKey(key)), serializeCacheValue(storeValue),
+                        ttl.isZero() || ttl.isNegative() ? Expiration.persistent() : Expiration.from(ttl),
+                        SetOption.upsert());
+            });
+            connection.closePipeline();
+        }
+    }
+
+    /**
+     * A cache entry and its remaining time-to-live.
+     *
+     * @param value The cached value
+     * @param timeToLive The remaining time-to-live, or null if the entry does not expire
+     */
+    public record ExpiringValue(ValueWrapper value, Duration timeToLive) {
+    }
+}
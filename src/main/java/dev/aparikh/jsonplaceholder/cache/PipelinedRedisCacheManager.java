@@ -0,0 +1,39 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.util.Map;
+
+/**
+ * Redis cache manager whose caches support pipelined batch writes.
+ */
+public class PipelinedRedisCacheManager extends RedisCacheManager {
+
+    private final RedisConnectionFactory connectionFactory;
+
+    /**
+     * Creates a cache manager. The configured caches are created by {@link #afterPropertiesSet()}, which the
+     * owner must call when the manager is not a bean of its own; until then every cache uses the defaults.
+     *
+     * @param connectionFactory The Redis connection factory
+     * @param defaultCacheConfiguration The configuration for caches without their own entry
+     * @param initialCacheConfigurations The configuration per cache name
+     */
+    public PipelinedRedisCacheManager(RedisConnectionFactory connectionFactory,
+                                      RedisCacheConfiguration defaultCacheConfiguration,
+                                      Map<String, RedisCacheConfiguration> initialCacheConfigurations) {
+        super(RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory), defaultCacheConfiguration,
+                initialCacheConfigurations);
+        this.connectionFactory = connectionFactory;
+    }
+
+    @Override
+    protected RedisCache createRedisCache(String name, RedisCacheConfiguration cacheConfiguration) {
+        return new PipelinedRedisCache(name, getCacheWriter(),
+                cacheConfiguration != null ? cacheConfiguration : getDefaultCacheConfiguration(), connectionFactory);
+    }
+}
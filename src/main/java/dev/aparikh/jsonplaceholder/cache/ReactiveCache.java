@@ -0,0 +1,104 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking in-process cache for values produced by a {@link Mono}.
+ * <p>
+ * Lookups never block the calling (event-loop) thread: a hit is served from a bounded Caffeine cache and a miss
+ * subscribes to the loader. Concurrent lookups of the same key share one load. A loader that completes empty (for
+ * example on a 404) is cached as a negative result for the negative TTL; errors are never cached. Lookups, loads
+ * and entry sizes are published as {@link CacheMetrics}.
+ */
+public class ReactiveCache {
+
+    private final Cache<Object, Optional<Object>> localCache;
+    private final CacheMetrics metrics;
+    private final ConcurrentMap<Object, Mono<Optional<Object>>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a reactive cache.
+     *
+     * @param cacheName The cache name, used to tag the metrics
+     * @param timeToLive How long values are kept
+     * @param negativeTimeToLive How long empty results are kept
+     * @param maximumBytes The approximate number of bytes held by the cache
+     * @param meterRegistry The registry for cache metrics
+     */
+    public ReactiveCache(String cacheName, Duration timeToLive, Duration negativeTimeToLive, long maximumBytes,
+                         MeterRegistry meterRegistry) {
+        this.metrics = new CacheMetrics(meterRegistry, cacheName, "local");
+        this.localCache = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .<Object, Optional<Object>>weigher((key, value) -> (int) Math.min(Integer.MAX_VALUE,
+                        EntrySizeEstimator.estimate(key) + EntrySizeEstimator.estimate(value)))
+                .expireAfter(new NegativeAwareExpiry(timeToLive, negativeTimeToLive))
+                .build();
+    }
+
+    /**
+     * Returns the cached value for a key, subscribing to the loader and caching its result on a miss.
+     *
+     * @param key The cache key
+     * @param loader Produces the value on a miss; completing empty caches a negative result
+     * @param <T> The type of the value
+     * @return A Mono emitting the value, or completing empty for a (cached) negative result
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> get(Object key, Supplier<Mono<T>> loader) {
+        return Mono.defer(() -> {
+            Optional<Object> cached = localCache.getIfPresent(key);
+            if (cached != null) {
+                metrics.hit();
+                return Mono.justOrEmpty((Optional<T>) (Optional<?>) cached);
+            }
+            return inFlight.computeIfAbsent(key, k -> load(k, loader)
+                            .doFinally(signal -> inFlight.remove(k))
+                            .cache())
+                    .flatMap(value -> Mono.justOrEmpty((Optional<T>) (Optional<?>) value));
+        });
+    }
+
+    /**
+     * Returns the remaining time-to-live of an entry.
+     *
+     * @param key The cache key
+     * @return The remaining time-to-live, or null if the entry is not cached
+     */
+    public Duration getTimeToLive(Object key) {
+        return localCache.policy().expireVariably()
+                .flatMap(expiry -> expiry.getExpiresAfter(key))
+                .orElse(null);
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        metrics.clear();
+        localCache.invalidateAll();
+    }
+
+    private <T> Mono<Optional<Object>> load(Object key, Supplier<Mono<T>> loader) {
+        metrics.miss();
+        long start = System.nanoTime();
+        return loader.get()
+                .map(value -> Optional.<Object>of(value))
+                .defaultIfEmpty(Optional.empty())
+                .doOnNext(value -> {
+                    metrics.recordLoad(System.nanoTime() - start, true);
+                    metrics.write(key, value);
+                    localCache.put(key, value);
+                })
+                .doOnError(e -> metrics.recordLoad(System.nanoTime() - start, false));
+    }
+}
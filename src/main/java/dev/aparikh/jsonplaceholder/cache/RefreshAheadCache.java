@@ -0,0 +1,186 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Cache decorator implementing stale-while-revalidate.
+ * Entries older than the soft TTL are still returned immediately while a single background task reloads them.
+ * Entries older than the hard TTL are treated as missing and loaded synchronously. A background reload knows the
+ * value it replaces (see {@link Revalidation}), so it can revalidate that value rather than download it again.
+ * <p>
+ * Write times are tracked per node. The age of an entry this node has not written (for example one loaded by
+ * another node through Redis, or before a restart) is derived from the time-to-live its store has left, since the
+ * store expires entries at the hard TTL; an entry whose remaining time-to-live is unknown is considered fresh when
+ * it is first seen.
+ */
+public class RefreshAheadCache extends CacheDecorator {
+
+    private static final long MAX_TRACKED_KEYS = 100_000;
+
+    private final Duration softTtl;
+    private final Duration hardTtl;
+    private final CacheRefresher refresher;
+    private final Clock clock;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Long> writeTimes;
+
+    /**
+     * Creates a refresh-ahead cache.
+     *
+     * @param delegate The cache holding the values
+     * @param softTtl The age after which entries are refreshed in the background, or null to disable refresh-ahead
+     * @param hardTtl The age after which entries are no longer served
+     * @param refresher The executor for background reloads
+     */
+    public RefreshAheadCache(Cache delegate, Duration softTtl, Duration hardTtl, CacheRefresher refresher) {
+        this(delegate, softTtl, hardTtl, refresher, Clock.systemUTC());
+    }
+
+    RefreshAheadCache(Cache delegate, Duration softTtl, Duration hardTtl, CacheRefresher refresher, Clock clock) {
+        super(delegate);
+        this.softTtl = softTtl;
+        this.hardTtl = hardTtl;
+        this.refresher = refresher;
+        this.clock = clock;
+        this.writeTimes = Caffeine.newBuilder()
+                .maximumSize(MAX_TRACKED_KEYS)
+                .expireAfterWrite(hardTtl)
+                .build();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper == null || age(key, wrapper) >= hardTtl.toMillis()) {
+            return null;
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper == null) {
+            return load(key, valueLoader);
+        }
+
+        long age = age(key, wrapper);
+        if (age >= hardTtl.toMillis()) {
+            delegate.evict(key);
+            return load(key, valueLoader);
+        }
+        if (softTtl != null && age >= softTtl.toMillis()) {
+            refresher.refresh(this, key, Revalidation.replacing(wrapper.get(), valueLoader));
+        }
+        return (T) wrapper.get();
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        writeTimes.put(key, clock.millis());
+    }
+
+    @Override
+    public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+        Map<Object, ValueWrapper> found = new HashMap<>(MultiKeyCache.getAll(delegate, keys));
+        found.entrySet().removeIf(entry -> age(entry.getKey(), entry.getValue()) >= hardTtl.toMillis());
+        return found;
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        MultiKeyCache.putAll(delegate, entries);
+        long now = clock.millis();
+        entries.keySet().forEach(key -> writeTimes.put(key, now));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null) {
+            writeTimes.put(key, clock.millis());
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        writeTimes.invalidate(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        writeTimes.invalidate(key);
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        writeTimes.invalidateAll();
+    }
+
+    @Override
+    public boolean invalidate() {
+        writeTimes.invalidateAll();
+        return delegate.invalidate();
+    }
+
+    /**
+     * Marks entries as older than the soft TTL, so their next read serves them and reloads them in the background.
+     * Has no effect without a soft TTL.
+     *
+     * @param keys The keys of the entries
+     */
+    public void markStale(Collection<?> keys) {
+        if (softTtl == null) {
+            return;
+        }
+        long writtenAt = clock.millis() - softTtl.toMillis();
+        keys.forEach(key -> writeTimes.put(key, writtenAt));
+    }
+
+    private <T> T load(Object key, Callable<T> valueLoader) {
+        T value = delegate.get(key, valueLoader);
+        writeTimes.put(key, clock.millis());
+        return value;
+    }
+
+    private long age(Object key, ValueWrapper wrapper) {
+        long now = clock.millis();
+        return now - writeTimes.get(key, k -> writtenAt(k, wrapper, now));
+    }
+
+    private long writtenAt(Object key, ValueWrapper wrapper, long now) {
+        // Negative results expire sooner than the hard TTL, so their remaining time-to-live says nothing about age
+        if (NegativeResults.isNegative(wrapper.get())) {
+            return now;
+        }
+        Duration remaining = ExpiringCache.getTimeToLive(delegate, key);
+        if (remaining == null) {
+            return now;
+        }
+        return now - Math.max(0, hardTtl.toMillis() - remaining.toMillis());
+    }
+}
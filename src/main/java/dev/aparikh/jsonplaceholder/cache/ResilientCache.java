@@ -0,0 +1,222 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import dev.aparikh.jsonplaceholder.resilience.CircuitBreaker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.dao.DataAccessException;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Cache that routes operations to a remote (Redis-backed) cache while its circuit breaker is closed and to a
+ * local cache otherwise.
+ * <p>
+ * Data access failures of the remote cache are recorded with the circuit breaker and the failed operation is
+ * retried on the local cache, so callers never see Redis errors. Remote operations slower than the slow-call
+ * threshold are recorded as failures too, so a Redis that answers slowly trips the breaker as well as one that
+ * does not answer at all. Keys written or evicted while the remote cache
+ * was bypassed are remembered and evicted from it by {@link #resync()} once it is back, so it does not serve
+ * values that changed in the meantime.
+ */
+public class ResilientCache implements Cache, MultiKeyCache, ExpiringCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResilientCache.class);
+
+    /** Above this many changed keys the remote cache is cleared instead of evicted key by key */
+    private static final int MAX_TRACKED_CHANGES = 10_000;
+
+    private final Cache remote;
+    private final Cache local;
+    private final CircuitBreaker circuitBreaker;
+    private final Duration slowCallThreshold;
+    private final ThreadLocal<Boolean> servedLocally = ThreadLocal.withInitial(() -> false);
+    private final Set<Object> changedWhileBypassed = ConcurrentHashMap.newKeySet();
+    private volatile boolean clearedWhileBypassed;
+
+    /**
+     * Creates a resilient cache.
+     *
+     * @param remote The cache used while the circuit breaker is closed
+     * @param local The cache used while the circuit breaker is open
+     * @param circuitBreaker Tracks the health of the remote cache
+     */
+    public ResilientCache(Cache remote, Cache local, CircuitBreaker circuitBreaker) {
+        this(remote, local, circuitBreaker, null);
+    }
+
+    /**
+     * Creates a resilient cache.
+     *
+     * @param remote The cache used while the circuit breaker is closed
+     * @param local The cache used while the circuit breaker is open
+     * @param circuitBreaker Tracks the health of the remote cache
+     * @param slowCallThreshold Remote operations taking longer are recorded as failures, or null to only record errors
+     */
+    public ResilientCache(Cache remote, Cache local, CircuitBreaker circuitBreaker, Duration slowCallThreshold) {
+        this.remote = remote;
+        this.local = local;
+        this.circuitBreaker = circuitBreaker;
+        this.slowCallThreshold = slowCallThreshold;
+    }
+
+    @Override
+    public String getName() {
+        return remote.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return execute(cache -> cache.get(key), null);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return execute(cache -> cache.get(key, type), null);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        // Load outside the remote cache so a Redis failure during the write does not run the loader twice
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        execute(cache -> {
+            cache.put(key, value);
+            return null;
+        }, () -> changedWhileBypassed.add(key));
+    }
+
+    @Override
+    public Duration getTimeToLive(Object key) {
+        return execute(cache -> ExpiringCache.getTimeToLive(cache, key), null);
+    }
+
+    @Override
+    public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+        return execute(cache -> MultiKeyCache.getAll(cache, keys), null);
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        execute(cache -> {
+            MultiKeyCache.putAll(cache, entries);
+            return null;
+        }, () -> changedWhileBypassed.addAll(entries.keySet()));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return execute(cache -> cache.putIfAbsent(key, value), () -> changedWhileBypassed.add(key));
+    }
+
+    @Override
+    public void evict(Object key) {
+        execute(cache -> {
+            cache.evict(key);
+            return null;
+        }, () -> changedWhileBypassed.add(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return execute(cache -> cache.evictIfPresent(key), () -> changedWhileBypassed.add(key));
+    }
+
+    @Override
+    public void clear() {
+        execute(cache -> {
+            cache.clear();
+            return null;
+        }, () -> clearedWhileBypassed = true);
+    }
+
+    @Override
+    public boolean invalidate() {
+        return execute(Cache::invalidate, () -> clearedWhileBypassed = true);
+    }
+
+    /**
+     * Evicts the keys changed while the remote cache was bypassed from the remote cache and empties the local cache.
+     * Called when the circuit breaker closes again.
+     */
+    public void resync() {
+        try {
+            if (clearedWhileBypassed || changedWhileBypassed.size() > MAX_TRACKED_CHANGES) {
+                remote.clear();
+            } else {
+                changedWhileBypassed.forEach(remote::evict);
+            }
+            clearedWhileBypassed = false;
+            changedWhileBypassed.clear();
+        } catch (DataAccessException e) {
+            logger.warn("Could not resync cache '{}' with Redis: {}", getName(), e.getMessage());
+        }
+        local.clear();
+    }
+
+    /**
+     * Tells which cache served the last operation of the current thread, for example to tag its metrics.
+     *
+     * @return true if the local cache served it, false if the remote cache did
+     */
+    public boolean wasServedLocally() {
+        return servedLocally.get();
+    }
+
+    /**
+     * Runs an operation on the remote cache if the circuit breaker permits it, otherwise or on failure on the local cache.
+     *
+     * @param operation The cache operation
+     * @param onBypass Records the change when a write goes to the local cache only, or null for reads
+     */
+    private <T> T execute(Function<Cache, T> operation, Runnable onBypass) {
+        if (circuitBreaker.tryAcquirePermission()) {
+            try {
+                long start = System.nanoTime();
+                T result = operation.apply(remote);
+                if (slowCallThreshold != null && System.nanoTime() - start > slowCallThreshold.toNanos()) {
+                    circuitBreaker.onError();
+                } else {
+                    circuitBreaker.onSuccess();
+                }
+                servedLocally.set(false);
+                return result;
+            } catch (DataAccessException e) {
+                circuitBreaker.onError();
+                logger.debug("Cache '{}' falling back to local cache: {}", getName(), e.getMessage());
+            }
+        }
+        if (onBypass != null) {
+            onBypass.run();
+        }
+        servedLocally.set(true);
+        return operation.apply(local);
+    }
+}
@@ -0,0 +1,61 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import dev.aparikh.jsonplaceholder.resilience.CircuitBreaker;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache manager that fails over from a remote cache manager to a local one while the remote side is unhealthy.
+ * All caches share one circuit breaker; when it closes again every cache is resynced with the remote side.
+ */
+public class ResilientCacheManager implements CacheManager {
+
+    private final CacheManager remoteCacheManager;
+    private final CacheManager localCacheManager;
+    private final CircuitBreaker circuitBreaker;
+    private final Duration slowCallThreshold;
+    private final ConcurrentMap<String, ResilientCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a resilient cache manager.
+     *
+     * @param remoteCacheManager The cache manager used while the circuit breaker is closed
+     * @param localCacheManager The cache manager used while the circuit breaker is open
+     * @param circuitBreaker Tracks the health of the remote side
+     * @param slowCallThreshold Remote operations taking longer are recorded as failures, or null to only record errors
+     */
+    public ResilientCacheManager(CacheManager remoteCacheManager, CacheManager localCacheManager,
+                                 CircuitBreaker circuitBreaker, Duration slowCallThreshold) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.localCacheManager = localCacheManager;
+        this.circuitBreaker = circuitBreaker;
+        this.slowCallThreshold = slowCallThreshold;
+        circuitBreaker.addListener(event -> {
+            if (event.to() == CircuitBreaker.State.CLOSED) {
+                caches.values().forEach(ResilientCache::resync);
+            }
+        });
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache remote = remoteCacheManager.getCache(cacheName);
+            Cache local = localCacheManager.getCache(cacheName);
+            if (remote == null || local == null) {
+                return null;
+            }
+            return new ResilientCache(remote, local, circuitBreaker, slowCallThreshold);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remoteCacheManager.getCacheNames();
+    }
+}
@@ -0,0 +1,85 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Cache decorator that keeps the upstream ETag / Last-Modified validators with each cached value, so a reload
+ * can revalidate the value with a conditional request instead of downloading and parsing it again.
+ * <p>
+ * Loads run as a {@link Revalidation}. A loaded value whose response had validators is stored as a
+ * {@link ValidatedValue}; reads return the plain value. When a cache further down reloads an entry it still holds,
+ * its validators are sent upstream, and on a {@code 304 Not Modified} the held value is written back as it is,
+ * which restarts its time-to-live without reading a body.
+ */
+public class RevalidatingCache extends CacheDecorator {
+
+    public RevalidatingCache(Cache delegate) {
+        super(delegate);
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return unwrap(delegate.get(key));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return (T) value(delegate.get(key, () -> Revalidation.load(valueLoader)));
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        CompletableFuture<?> result = delegate.retrieve(key);
+        return result != null
+                ? result.thenApply(value -> value instanceof ValueWrapper wrapper ? unwrap(wrapper) : value(value))
+                : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return delegate.retrieve(key, valueLoader).thenApply(value -> (T) value(value));
+    }
+
+    @Override
+    public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+        Map<Object, ValueWrapper> found = new HashMap<>();
+        MultiKeyCache.getAll(delegate, keys).forEach((key, wrapper) -> found.put(key, unwrap(wrapper)));
+        return found;
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return unwrap(delegate.putIfAbsent(key, value));
+    }
+
+    private static ValueWrapper unwrap(ValueWrapper wrapper) {
+        return wrapper != null && wrapper.get() instanceof ValidatedValue validated
+                ? new SimpleValueWrapper(validated.value())
+                : wrapper;
+    }
+
+    private static Object value(Object value) {
+        return value instanceof ValidatedValue validated ? validated.value() : value;
+    }
+}
@@ -0,0 +1,179 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import dev.aparikh.jsonplaceholder.model.RawResponse;
+
+import java.util.concurrent.Callable;
+
+/**
+ * The upstream request made by a cache load, seen from the HTTP client.
+ * <p>
+ * Every load through a {@link RevalidatingCache} runs as a revalidation on the loading thread. When the load replaces
+ * a value the cache still holds (see {@link #replacing(Object, Callable)}), the revalidation carries that value's
+ * validators: the HTTP client sends them as {@code If-None-Match} / {@code If-Modified-Since} and reports a
+ * {@code 304 Not Modified} through {@link #notModified()}, and the load then keeps the held value. The validators
+ * of a new response are reported through {@link #modified(String, String)} and stored with the new value (a
+ * {@link RawResponse} already carries its own).
+ * <p>
+ * Only the first request of a load takes part; instances are confined to the loading thread.
+ */
+public final class Revalidation {
+
+    private static final ThreadLocal<Object> replaced = new ThreadLocal<>();
+    private static final ThreadLocal<Revalidation> current = new ThreadLocal<>();
+
+    private final boolean replacing;
+    private final String eTag;
+    private final String lastModified;
+    private boolean claimed;
+    private boolean notModified;
+    private String responseETag;
+    private String responseLastModified;
+
+    private Revalidation(boolean replacing, String eTag, String lastModified) {
+        this.replacing = replacing;
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Wraps a loader that reloads a value the cache still holds, so the load can revalidate that value instead of
+     * reading it again.
+     *
+     * @param value The held value
+     * @param valueLoader Loads the fresh value
+     * @param <T> The type of the value
+     * @return A loader that makes the held value known to the load while it runs
+     */
+    public static <T> Callable<T> replacing(Object value, Callable<T> valueLoader) {
+        return () -> {
+            Object previous = replaced.get();
+            replaced.set(value);
+            try {
+                return valueLoader.call();
+            } finally {
+                restore(replaced, previous);
+            }
+        };
+    }
+
+    /**
+     * Returns the revalidation of the load running on this thread, if no request has been made for it yet.
+     * The caller makes the load's upstream request and reports its outcome.
+     *
+     * @return The revalidation, or null outside of a load or once it has been claimed
+     */
+    public static Revalidation claim() {
+        Revalidation revalidation = current.get();
+        if (revalidation == null || revalidation.claimed) {
+            return null;
+        }
+        revalidation.claimed = true;
+        return revalidation;
+    }
+
+    /**
+     * Checks whether the load replaces a value the cache still holds, which is kept on {@link #notModified()}.
+     *
+     * @return true if there is a held value
+     */
+    public boolean isReplacing() {
+        return replacing;
+    }
+
+    /**
+     * Returns the {@code ETag} of the held value.
+     *
+     * @return The ETag, or null if there is none
+     */
+    public String getETag() {
+        return eTag;
+    }
+
+    /**
+     * Returns the {@code Last-Modified} date of the held value.
+     *
+     * @return The Last-Modified header value, or null if there is none
+     */
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Reports that the held value is still current, so the load keeps it.
+     */
+    public void notModified() {
+        notModified = true;
+    }
+
+    /**
+     * Reports the validators of the response the new value is read from.
+     *
+     * @param eTag The {@code ETag}, or null if absent
+     * @param lastModified The {@code Last-Modified} date, or null if absent
+     */
+    public void modified(String eTag, String lastModified) {
+        this.responseETag = eTag;
+        this.responseLastModified = lastModified;
+    }
+
+    /**
+     * Runs a load as a revalidation of the value it replaces, if any.
+     *
+     * @param valueLoader Loads the fresh value
+     * @return The value to store: the held value if upstream reported it unchanged, otherwise the loaded value,
+     *         as a {@link ValidatedValue} if its response had validators
+     * @throws Exception If the load failed
+     */
+    static Object load(Callable<?> valueLoader) throws Exception {
+        Object held = replaced.get();
+        Revalidation revalidation = new Revalidation(held != null, eTag(held), lastModified(held));
+        Revalidation outer = current.get();
+        current.set(revalidation);
+        // A load nested in this one replaces nothing
+        replaced.remove();
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            // A loader may fail on the empty body of a 304; the held value is kept regardless
+            if (!revalidation.notModified) {
+                throw e;
+            }
+            value = null;
+        } finally {
+            restore(replaced, held);
+            restore(current, outer);
+        }
+
+        if (revalidation.notModified) {
+            return held;
+        }
+        if (NegativeResults.isNegative(value) || value instanceof RawResponse
+                || (revalidation.responseETag == null && revalidation.responseLastModified == null)) {
+            return value;
+        }
+        return new ValidatedValue(value, revalidation.responseETag, revalidation.responseLastModified);
+    }
+
+    private static String eTag(Object held) {
+        if (held instanceof ValidatedValue validated) {
+            return validated.eTag();
+        }
+        return held instanceof RawResponse raw ? raw.eTag() : null;
+    }
+
+    private static String lastModified(Object held) {
+        if (held instanceof ValidatedValue validated) {
+            return validated.lastModified();
+        }
+        return held instanceof RawResponse raw ? raw.lastModified() : null;
+    }
+
+    private static <T> void restore(ThreadLocal<T> threadLocal, T previous) {
+        if (previous != null) {
+            threadLocal.set(previous);
+        } else {
+            threadLocal.remove();
+        }
+    }
+}
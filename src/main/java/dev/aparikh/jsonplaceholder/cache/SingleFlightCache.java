@@ -0,0 +1,83 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache decorator that collapses concurrent loads of the same key into a single call.
+ * The first caller to miss runs the value loader; callers that miss while it is running wait for
+ * and share its result or failure instead of loading again. A caller that becomes the loader checks the decorated
+ * cache once more first, since a load that finished between its miss and taking the lead has already stored a value.
+ * <p>
+ * Loads run outside of the decorated cache, so backends that serialize loads behind a lock
+ * (such as {@code RedisCache}) never block callers waiting on other keys.
+ */
+public class SingleFlightCache extends CacheDecorator {
+
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Counter collapsedLoads;
+
+    public SingleFlightCache(Cache delegate, MeterRegistry meterRegistry) {
+        super(delegate);
+        this.collapsedLoads = Counter.builder("cache.loads.collapsed")
+                .description("Cache loads served by waiting on an in-flight load of the same key")
+                .tag("cache", delegate.getName())
+                .register(meterRegistry);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, load);
+        if (existing != null) {
+            collapsedLoads.increment();
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                throw new ValueRetrievalException(key, valueLoader, e.getCause());
+            }
+        }
+
+        try {
+            ValueWrapper loaded = delegate.get(key);
+            if (loaded != null) {
+                load.complete(loaded.get());
+                return (T) loaded.get();
+            }
+            T value = valueLoader.call();
+            delegate.put(key, value);
+            load.complete(value);
+            return value;
+        } catch (Exception e) {
+            load.completeExceptionally(e);
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } catch (Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, load);
+        }
+    }
+
+    /**
+     * Returns the number of loads that were collapsed into an in-flight load.
+     *
+     * @return The collapsed load count
+     */
+    public double getCollapsedLoads() {
+        return collapsedLoads.count();
+    }
+}
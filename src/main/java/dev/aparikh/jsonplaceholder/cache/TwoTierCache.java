@@ -0,0 +1,164 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Cache that keeps a bounded in-process copy (L1) of the entries held in a shared remote cache (L2).
+ * Reads are served from L1 when possible and only fall through to L2 on a local miss.
+ * Writes go to L2 first and then invalidate the L1 copies held by other nodes. Remaining time-to-live is read
+ * from L2, whose expiry all nodes share.
+ */
+public class TwoTierCache implements Cache, MultiKeyCache, ExpiringCache {
+
+    private final Cache local;
+    private final Cache remote;
+    private final NearCacheInvalidator invalidator;
+
+    public TwoTierCache(Cache local, Cache remote, NearCacheInvalidator invalidator) {
+        this.local = local;
+        this.remote = remote;
+        this.invalidator = invalidator;
+    }
+
+    @Override
+    public String getName() {
+        return remote.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = local.get(localKey(key));
+        if (value != null) {
+            return value;
+        }
+
+        value = remote.get(key);
+        if (value != null) {
+            local.put(localKey(key), value.get());
+        }
+        return value;
+    }
+
+    @Override
+    public Duration getTimeToLive(Object key) {
+        return ExpiringCache.getTimeToLive(remote, key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+
+        // Load outside of the remote cache so a slow upstream call never holds its lock
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        local.put(localKey(key), value);
+        invalidator.publishEvict(getName(), localKey(key));
+    }
+
+    @Override
+    public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+        Map<Object, ValueWrapper> found = new HashMap<>();
+        List<Object> remoteKeys = new ArrayList<>();
+        for (Object key : keys) {
+            ValueWrapper value = local.get(localKey(key));
+            if (value != null) {
+                found.put(key, value);
+            } else {
+                remoteKeys.add(key);
+            }
+        }
+
+        MultiKeyCache.getAll(remote, remoteKeys).forEach((key, value) -> {
+            local.put(localKey(key), value.get());
+            found.put(key, value);
+        });
+        return found;
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        MultiKeyCache.putAll(remote, entries);
+        entries.forEach((key, value) -> {
+            local.put(localKey(key), value);
+            invalidator.publishEvict(getName(), localKey(key));
+        });
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        local.evict(localKey(key));
+        invalidator.publishEvict(getName(), localKey(key));
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.clear();
+        invalidator.publishClear(getName());
+    }
+
+    /**
+     * Returns the in-process tier of this cache.
+     *
+     * @return The local cache
+     */
+    public Cache getLocal() {
+        return local;
+    }
+
+    /**
+     * Returns the shared tier of this cache.
+     *
+     * @return The remote cache
+     */
+    public Cache getRemote() {
+        return remote;
+    }
+
+    /**
+     * Local entries are keyed by the same string form Redis uses, so invalidation messages can name them directly.
+     */
+    private static String localKey(Object key) {
+        return key instanceof String s ? s : key.toString();
+    }
+}
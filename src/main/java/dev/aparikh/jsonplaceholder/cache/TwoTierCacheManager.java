@@ -0,0 +1,53 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Cache manager that puts an in-process near cache in front of every cache of a remote cache manager.
+ */
+public class TwoTierCacheManager implements CacheManager {
+
+    private final CacheManager remoteCacheManager;
+    private final Function<String, Cache> localCacheFactory;
+    private final NearCacheInvalidator invalidator;
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a two-tier cache manager.
+     *
+     * @param remoteCacheManager The cache manager providing the shared (L2) caches
+     * @param localCacheFactory Creates the local (L1) cache for a given cache name
+     * @param invalidator Keeps the local caches coherent across nodes
+     */
+    public TwoTierCacheManager(CacheManager remoteCacheManager,
+                               Function<String, Cache> localCacheFactory,
+                               NearCacheInvalidator invalidator) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.localCacheFactory = localCacheFactory;
+        this.invalidator = invalidator;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache remote = remoteCacheManager.getCache(cacheName);
+            if (remote == null) {
+                return null;
+            }
+            Cache local = localCacheFactory.apply(cacheName);
+            invalidator.register(local);
+            return new TwoTierCache(local, remote, invalidator);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remoteCacheManager.getCacheNames();
+    }
+}
@@ -0,0 +1,13 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import java.io.Serializable;
+
+/**
+ * A cached value stored together with the validators of the upstream response it was read from.
+ *
+ * @param value The cached value
+ * @param eTag The upstream {@code ETag}, or null if absent
+ * @param lastModified The upstream {@code Last-Modified}, or null if absent
+ */
+public record ValidatedValue(Object value, String eTag, String lastModified) implements Serializable {
+}
@@ -0,0 +1,82 @@
+package dev.aparikh.jsonplaceholder.client;
+
+import dev.aparikh.jsonplaceholder.cache.Revalidation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Sends the upstream GETs of cache reloads as conditional requests.
+ * <p>
+ * The validators live in the cached values, not here: when a cache reloads an entry it still holds, the ETag and
+ * Last-Modified stored with that entry are sent as {@code If-None-Match} / {@code If-Modified-Since}. A
+ * {@code 304 Not Modified} is reported to the reload, which keeps the cached value and restarts its time-to-live;
+ * the empty 304 is passed on to the caller, so no body is read or parsed. The validators of a successful response
+ * are reported so they are stored with the new value. Requests made outside of a cache load are passed through
+ * unchanged.
+ */
+public class ConditionalRequestInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConditionalRequestInterceptor.class);
+
+    private final Counter notModified;
+    private final Counter modified;
+
+    /**
+     * Creates an interceptor.
+     *
+     * @param meterRegistry The registry for revalidation metrics
+     */
+    public ConditionalRequestInterceptor(MeterRegistry meterRegistry) {
+        this.notModified = Counter.builder("http.client.revalidations").description("Conditional upstream requests")
+                .tag("outcome", "not_modified").register(meterRegistry);
+        this.modified = Counter.builder("http.client.revalidations").description("Conditional upstream requests")
+                .tag("outcome", "modified").register(meterRegistry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        Revalidation revalidation = request.getMethod() == HttpMethod.GET ? Revalidation.claim() : null;
+        if (revalidation == null) {
+            return execution.execute(request, body);
+        }
+
+        HttpHeaders headers = request.getHeaders();
+        boolean conditional = false;
+        if (revalidation.getETag() != null && !headers.containsKey(HttpHeaders.IF_NONE_MATCH)) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, revalidation.getETag());
+            conditional = true;
+        }
+        if (revalidation.getLastModified() != null && !headers.containsKey(HttpHeaders.IF_MODIFIED_SINCE)) {
+            headers.set(HttpHeaders.IF_MODIFIED_SINCE, revalidation.getLastModified());
+            conditional = true;
+        }
+
+        ClientHttpResponse response = execution.execute(request, body);
+        if (conditional && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            notModified.increment();
+            logger.debug("{} not modified, keeping the cached value", request.getURI());
+            revalidation.notModified();
+            return response;
+        }
+        if (conditional) {
+            modified.increment();
+        }
+        if (response.getStatusCode().is2xxSuccessful()) {
+            HttpHeaders responseHeaders = response.getHeaders();
+            revalidation.modified(responseHeaders.getETag(), responseHeaders.getFirst(HttpHeaders.LAST_MODIFIED));
+        }
+        return response;
+    }
+}
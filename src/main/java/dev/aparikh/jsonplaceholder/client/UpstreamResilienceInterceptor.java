@@ -0,0 +1,342 @@
+package dev.aparikh.jsonplaceholder.client;
+
+import dev.aparikh.jsonplaceholder.cache.Revalidation;
+import dev.aparikh.jsonplaceholder.resilience.CallNotPermittedException;
+import dev.aparikh.jsonplaceholder.resilience.CircuitBreaker;
+import dev.aparikh.jsonplaceholder.resilience.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Protects the service from a slow or failing upstream API.
+ * <p>
+ * Every request first takes a token from a rate limiter, then a permit from a bulkhead that bounds the requests in
+ * flight, then permission from a circuit breaker; each waits at most a short, configured time, so callers are
+ * refused quickly instead of piling up behind a slow upstream. Connection failures, timeouts, {@code 5xx} and
+ * {@code 429} responses count as failures for the circuit breaker; other responses count as successes. When serving
+ * stale data is enabled, a refused GET that reloads a cache entry (see {@link Revalidation}) is answered with
+ * {@code 304 Not Modified}, so the cache keeps serving the value it holds; any other refused request fails with a
+ * {@link CallNotPermittedException}.
+ * <p>
+ * The same guards apply to {@code RestClient} requests, as an interceptor, and to {@code WebClient} requests, as an
+ * exchange filter; both share one rate limiter, bulkhead and circuit breaker. For a WebClient request, waiting for
+ * a rate-limit token never blocks a thread, and waiting for a bulkhead permit blocks a bounded-elastic thread only
+ * when no permit is free. The bulkhead permit is held until the response is closed or its body has been consumed,
+ * so a streamed body counts against the bulkhead for as long as it is being transferred. Circuit breaker state,
+ * free bulkhead permits, available rate-limit tokens, refusals and stale responses are published to Micrometer
+ * under {@code jsonplaceholder.upstream.*}.
+ */
+public class UpstreamResilienceInterceptor implements ClientHttpRequestInterceptor, ExchangeFilterFunction,
+        AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamResilienceInterceptor.class);
+
+    static final String CIRCUIT_OPEN = "circuit_open";
+    static final String BULKHEAD_FULL = "bulkhead_full";
+    static final String RATE_LIMITED = "rate_limited";
+
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+    private final Duration maxWait;
+    private final TokenBucket rateLimiter;
+    private final Duration rateLimitTimeout;
+    private final boolean serveStale;
+    private final MeterRegistry meterRegistry;
+    private final Counter staleServed;
+
+    /**
+     * Creates an interceptor.
+     *
+     * @param circuitBreaker Tracks upstream health
+     * @param maxConcurrentCalls The maximum number of requests in flight
+     * @param maxWait How long a request waits for a bulkhead permit
+     * @param rateLimiter Bounds the request rate
+     * @param rateLimitTimeout How long a request waits for a rate-limit token
+     * @param serveStale Whether a refused cache reload keeps the cached value instead of failing
+     * @param meterRegistry The registry for resilience metrics
+     */
+    public UpstreamResilienceInterceptor(CircuitBreaker circuitBreaker, int maxConcurrentCalls, Duration maxWait,
+                                         TokenBucket rateLimiter, Duration rateLimitTimeout,
+                                         boolean serveStale, MeterRegistry meterRegistry) {
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = new Semaphore(maxConcurrentCalls, true);
+        this.maxWait = maxWait;
+        this.rateLimiter = rateLimiter;
+        this.rateLimitTimeout = rateLimitTimeout;
+        this.serveStale = serveStale;
+        this.meterRegistry = meterRegistry;
+
+        String name = circuitBreaker.getName();
+        Gauge.builder("jsonplaceholder.upstream.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("State of the upstream circuit breaker (0 closed, 1 open, 2 half-open)")
+                .tag("name", name)
+                .register(meterRegistry);
+        circuitBreaker.addListener(event -> meterRegistry.counter("jsonplaceholder.upstream.circuit.transitions",
+                "name", name, "from", event.from().name(), "to", event.to().name()).increment());
+        Gauge.builder("jsonplaceholder.upstream.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .description("Free upstream bulkhead permits")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("jsonplaceholder.upstream.ratelimit.available", rateLimiter, TokenBucket::availableTokens)
+                .description("Available upstream rate-limit tokens")
+                .tag("name", name)
+                .register(meterRegistry);
+        this.staleServed = Counter.builder("jsonplaceholder.upstream.stale")
+                .description("Refused upstream requests answered with the cached value")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        try {
+            if (!rateLimiter.tryAcquire(rateLimitTimeout)) {
+                return refuse(request, RATE_LIMITED);
+            }
+            if (!bulkhead.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                return refuse(request, BULKHEAD_FULL);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for an upstream permit", e);
+        }
+
+        Permit permit = new Permit();
+        try {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                permit.release();
+                return refuse(request, CIRCUIT_OPEN);
+            }
+            ClientHttpResponse response;
+            try {
+                response = execution.execute(request, body);
+            } catch (IOException | RuntimeException e) {
+                circuitBreaker.onError();
+                throw e;
+            }
+            try {
+                if (isFailure(response.getStatusCode())) {
+                    circuitBreaker.onError();
+                } else {
+                    circuitBreaker.onSuccess();
+                }
+            } catch (IOException | RuntimeException e) {
+                response.close();
+                throw e;
+            }
+            return new PermitReleasingResponse(response, permit);
+        } catch (IOException | RuntimeException | Error e) {
+            permit.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            long waitNanos = rateLimiter.reserve(rateLimitTimeout.toNanos());
+            if (waitNanos < 0) {
+                return refuse(request, RATE_LIMITED);
+            }
+            Mono<Long> token = waitNanos > 0 ? Mono.delay(Duration.ofNanos(waitNanos)) : Mono.just(0L);
+            return token.then(Mono.defer(this::acquirePermit))
+                    .flatMap(permit -> exchange(request, next, permit))
+                    .switchIfEmpty(Mono.defer(() -> refuse(request, BULKHEAD_FULL)));
+        });
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    @Override
+    public void close() {
+        circuitBreaker.close();
+    }
+
+    /**
+     * Takes a bulkhead permit, completing empty if none becomes free within the maximum wait.
+     * Only waiting blocks, so it is moved off the event loop; a permit that arrives after the caller has
+     * cancelled is given back.
+     */
+    private Mono<Permit> acquirePermit() {
+        if (bulkhead.tryAcquire()) {
+            return Mono.just(new Permit());
+        }
+        return Mono.fromCallable(() -> bulkhead.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS) ? new Permit() : null)
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnDiscard(Permit.class, Permit::release);
+    }
+
+    private Mono<ClientResponse> exchange(ClientRequest request, ExchangeFunction next, Permit permit) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            permit.release();
+            return refuse(request, CIRCUIT_OPEN);
+        }
+        AtomicBoolean recorded = new AtomicBoolean();
+        return next.exchange(request)
+                .map(response -> {
+                    recorded.set(true);
+                    if (isFailure(response.statusCode())) {
+                        circuitBreaker.onError();
+                    } else {
+                        circuitBreaker.onSuccess();
+                    }
+                    return response.mutate()
+                            .body(body -> body.doFinally(signal -> permit.release()))
+                            .build();
+                })
+                .doOnError(e -> {
+                    if (recorded.compareAndSet(false, true)) {
+                        circuitBreaker.onError();
+                    }
+                    permit.release();
+                })
+                .doOnCancel(() -> {
+                    if (recorded.compareAndSet(false, true)) {
+                        circuitBreaker.onCancelled();
+                    }
+                    permit.release();
+                });
+    }
+
+    private ClientHttpResponse refuse(HttpRequest request, String reason) {
+        countRefusal(reason);
+        Revalidation revalidation = serveStale && request.getMethod() == HttpMethod.GET ? Revalidation.claim() : null;
+        if (revalidation == null || !revalidation.isReplacing()) {
+            throw refused(request.getURI().toString(), reason);
+        }
+        revalidation.notModified();
+        staleServed.increment();
+        logger.debug("Upstream request to {} refused ({}), keeping the cached value", request.getURI(), reason);
+        return new NotModifiedResponse();
+    }
+
+    private Mono<ClientResponse> refuse(ClientRequest request, String reason) {
+        countRefusal(reason);
+        return Mono.error(refused(request.url().toString(), reason));
+    }
+
+    private void countRefusal(String reason) {
+        meterRegistry.counter("jsonplaceholder.upstream.rejected",
+                "name", circuitBreaker.getName(), "reason", reason).increment();
+    }
+
+    private static CallNotPermittedException refused(String uri, String reason) {
+        return new CallNotPermittedException(reason, "Upstream request to " + uri + " refused: " + reason);
+    }
+
+    private static boolean isFailure(HttpStatusCode status) {
+        return status.is5xxServerError() || status.isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    /**
+     * A bulkhead permit that is given back at most once.
+     */
+    private final class Permit {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                bulkhead.release();
+            }
+        }
+    }
+
+    /**
+     * Empty {@code 304} answering a refused cache reload.
+     */
+    private static final class NotModifiedResponse implements ClientHttpResponse {
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return HttpStatus.NOT_MODIFIED;
+        }
+
+        @Override
+        public String getStatusText() {
+            return HttpStatus.NOT_MODIFIED.getReasonPhrase();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return HttpHeaders.EMPTY;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return InputStream.nullInputStream();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Response that holds its bulkhead permit until it is closed.
+     */
+    private static final class PermitReleasingResponse implements ClientHttpResponse {
+        private final ClientHttpResponse delegate;
+        private final Permit permit;
+
+        PermitReleasingResponse(ClientHttpResponse delegate, Permit permit) {
+            this.delegate = delegate;
+            this.permit = permit;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                permit.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,610 @@
+package dev.aparikh.jsonplaceholder.config;
+
+import dev.aparikh.jsonplaceholder.cache.CacheRefresher;
+import dev.aparikh.jsonplaceholder.cache.CanonicalKeyGenerator;
+import dev.aparikh.jsonplaceholder.cache.ClaudeCompletionCache;
+import dev.aparikh.jsonplaceholder.cache.InvalidationListenerContainer;
+import dev.aparikh.jsonplaceholder.cache.LocalCacheSnapshot;
+import dev.aparikh.jsonplaceholder.cache.NearCacheInvalidator;
+import dev.aparikh.jsonplaceholder.cache.ReactiveCache;
+import dev.aparikh.jsonplaceholder.resilience.CircuitBreaker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Configuration for the cache layers that sit around the Redis cache manager.
+ */
+@Configuration
+public class CacheConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheConfig.class);
+    private static final String REACTIVE_POSTS_CACHE = "reactive-posts";
+
+    @Bean
+    @ConfigurationProperties(prefix = "cache")
+    public CacheProperties cacheProperties() {
+        return new CacheProperties();
+    }
+
+    /**
+     * Creates the key generator for the generic {@code apiData} lookups.
+     *
+     * @param cacheProperties The cache configuration properties
+     * @return A configured CanonicalKeyGenerator instance
+     */
+    @Bean
+    public CanonicalKeyGenerator canonicalKeyGenerator(CacheProperties cacheProperties) {
+        return new CanonicalKeyGenerator(cacheProperties.getKey().getMaxLength());
+    }
+
+    /**
+     * Creates the background executor used to refresh cache entries that are past their soft TTL.
+     *
+     * @param cacheProperties The cache configuration properties
+     * @return A configured CacheRefresher instance
+     */
+    @Bean
+    public CacheRefresher cacheRefresher(CacheProperties cacheProperties) {
+        CacheProperties.Refresh refresh = cacheProperties.getRefresh();
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "cache-refresh-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new CacheRefresher(new ThreadPoolExecutor(refresh.getThreads(), refresh.getThreads(),
+                60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(refresh.getQueueCapacity()), threadFactory));
+    }
+
+    /**
+     * Creates the on-disk snapshot of the in-memory caches, which lets a restarted node serve cached data
+     * before Redis or the upstream API are reachable.
+     *
+     * @param cacheProperties The cache configuration properties
+     * @return A configured LocalCacheSnapshot instance
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "cache.snapshot", name = "enabled", havingValue = "true")
+    public LocalCacheSnapshot localCacheSnapshot(CacheProperties cacheProperties) {
+        CacheProperties.Snapshot snapshot = cacheProperties.getSnapshot();
+        return new LocalCacheSnapshot(Path.of(snapshot.getPath()), snapshot.getCheckpointInterval(),
+                (int) cacheProperties.getRedis().getCompressionThreshold().toBytes());
+    }
+
+    /**
+     * Creates the cache for Claude completion texts.
+     * Completions are shared through Redis when Redis caching is enabled and kept in-process otherwise.
+     *
+     * @param connectionFactory The Redis connection factory
+     * @param cacheProperties The cache configuration properties
+     * @param cacheType The configured cache type
+     * @param meterRegistry The registry for cache metrics
+     * @return A configured ClaudeCompletionCache instance
+     */
+    @Bean
+    public ClaudeCompletionCache claudeCompletionCache(RedisConnectionFactory connectionFactory,
+                                                       CacheProperties cacheProperties,
+                                                       @Value("${spring.cache.type:redis}") String cacheType,
+                                                       MeterRegistry meterRegistry) {
+        ReactiveStringRedisTemplate redisTemplate = null;
+        if ("redis".equals(cacheType) && connectionFactory instanceof ReactiveRedisConnectionFactory reactiveFactory) {
+            redisTemplate = new ReactiveStringRedisTemplate(reactiveFactory);
+        }
+        CacheProperties.Spec spec = cacheProperties.spec(ClaudeCompletionCache.CACHE_NAME);
+        return new ClaudeCompletionCache(ClaudeCompletionCache.CACHE_NAME, redisTemplate,
+                spec.getHardTtl(), spec.getMaximumWeight().toBytes(), meterRegistry);
+    }
+
+    /**
+     * Creates the non-blocking cache in front of the reactive JSONPlaceholder service.
+     *
+     * @param cacheProperties The cache configuration properties
+     * @param meterRegistry The registry for cache metrics
+     * @return A configured ReactiveCache instance
+     */
+    @Bean
+    public ReactiveCache reactivePostCache(CacheProperties cacheProperties, MeterRegistry meterRegistry) {
+        CacheProperties.Spec spec = cacheProperties.spec(REACTIVE_POSTS_CACHE);
+        return new ReactiveCache(REACTIVE_POSTS_CACHE, spec.getHardTtl(), spec.getNegativeTtl(),
+                spec.getMaximumWeight().toBytes(), meterRegistry);
+    }
+
+    /**
+     * Creates the circuit breaker that tracks Redis health for the cache layer.
+     * Redis is pinged once at startup; if it is unreachable the breaker starts open. While open, Redis is probed
+     * in the background and caching switches back to it as soon as a probe succeeds. State changes are published
+     * as {@link CircuitBreaker.StateChangedEvent} application events and as the {@code cache.redis.circuit.state}
+     * gauge (0 closed, 1 open, 2 half-open).
+     *
+     * @param connectionFactory The Redis connection factory
+     * @param cacheProperties The cache configuration properties
+     * @param meterRegistry The registry for circuit breaker metrics
+     * @param eventPublisher Publishes state change events
+     * @return A configured CircuitBreaker instance
+     */
+    @Bean
+    @ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
+    public CircuitBreaker redisCircuitBreaker(RedisConnectionFactory connectionFactory,
+                                              CacheProperties cacheProperties,
+                                              MeterRegistry meterRegistry,
+                                              ApplicationEventPublisher eventPublisher) {
+        CacheProperties.Redis.CircuitBreaker settings = cacheProperties.getRedis().getCircuitBreaker();
+        CircuitBreaker circuitBreaker = new CircuitBreaker("redis", settings.getSlidingWindowSize(),
+                settings.getMinimumCalls(), settings.getFailureRateThreshold(), settings.getProbeInterval());
+
+        Gauge.builder("cache.redis.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("State of the Redis circuit breaker (0 closed, 1 open, 2 half-open)")
+                .register(meterRegistry);
+        circuitBreaker.addListener(event -> meterRegistry.counter("cache.redis.circuit.transitions",
+                "from", event.from().name(), "to", event.to().name()).increment());
+        circuitBreaker.addListener(eventPublisher::publishEvent);
+
+        try {
+            pingRedis(connectionFactory);
+        } catch (Exception e) {
+            logger.warn("Redis connection failed, caching in memory until it is reachable: {}", e.getMessage());
+            circuitBreaker.forceOpen();
+        }
+        circuitBreaker.startProbing(() -> pingRedis(connectionFactory));
+        return circuitBreaker;
+    }
+
+    private static String pingRedis(RedisConnectionFactory connectionFactory) {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            return connection.ping();
+        }
+    }
+
+    /**
+     * Creates the publisher/listener that keeps near caches coherent across nodes.
+     *
+     * @param stringRedisTemplate The template used to publish invalidation messages
+     * @param cacheProperties The cache configuration properties
+     * @return A configured NearCacheInvalidator instance
+     */
+    @Bean
+    @ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
+    public NearCacheInvalidator nearCacheInvalidator(StringRedisTemplate stringRedisTemplate,
+                                                     CacheProperties cacheProperties) {
+        return new NearCacheInvalidator(stringRedisTemplate, cacheProperties.getNear().getInvalidationTopic());
+    }
+
+    /**
+     * Creates the Redis pub/sub listener container that delivers invalidation messages to the near caches.
+     * If Redis is down at startup, subscribing is retried in the background.
+     *
+     * @param connectionFactory The Redis connection factory
+     * @param nearCacheInvalidator The listener that evicts near cache entries
+     * @param cacheProperties The cache configuration properties
+     * @return A configured RedisMessageListenerContainer instance
+     */
+    @Bean
+    @ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                           NearCacheInvalidator nearCacheInvalidator,
+                                                                           CacheProperties cacheProperties) {
+        RedisMessageListenerContainer container = new InvalidationListenerContainer(Duration.ofSeconds(5));
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(nearCacheInvalidator,
+                new ChannelTopic(cacheProperties.getNear().getInvalidationTopic()));
+        return container;
+    }
+
+    /**
+     * Configuration properties for the application cache layers
+     */
+    public static class CacheProperties {
+        private final Near near = new Near();
+        private final Redis redis = new Redis();
+        private final Refresh refresh = new Refresh();
+        private final WarmUp warmUp = new WarmUp();
+        private final Snapshot snapshot = new Snapshot();
+        private final Key key = new Key();
+        private final Spec defaults = new Spec();
+        private Map<String, Spec> specs = new HashMap<>();
+
+        /**
+         * Returns the settings for a cache, falling back to the defaults for caches without their own entry.
+         *
+         * @param cacheName The name of the cache
+         * @return The settings for the cache
+         */
+        public Spec spec(String cacheName) {
+            Spec spec = specs.get(cacheName);
+            return spec != null ? spec : defaults;
+        }
+
+        // Getters and setters
+        public Near getNear() {
+            return near;
+        }
+
+        public Redis getRedis() {
+            return redis;
+        }
+
+        public Refresh getRefresh() {
+            return refresh;
+        }
+
+        public WarmUp getWarmUp() {
+            return warmUp;
+        }
+
+        public Snapshot getSnapshot() {
+            return snapshot;
+        }
+
+        public Key getKey() {
+            return key;
+        }
+
+        public Spec getDefaults() {
+            return defaults;
+        }
+
+        public Map<String, Spec> getSpecs() {
+            return specs;
+        }
+
+        public void setSpecs(Map<String, Spec> specs) {
+            this.specs = specs;
+        }
+
+        /**
+         * Per-cache expiry and sizing settings.
+         * The hard TTL is also the expire-after-write of the in-memory cache; negative results
+         * ("not found") expire after the negative TTL instead.
+         */
+        public static class Spec {
+            private Duration softTtl;
+            private Duration hardTtl = Duration.ofHours(1);
+            private Duration negativeTtl = Duration.ofMinutes(1);
+            private DataSize maximumWeight = DataSize.ofMegabytes(32);
+
+            // Getters and setters
+            public Duration getSoftTtl() {
+                return softTtl;
+            }
+
+            public void setSoftTtl(Duration softTtl) {
+                this.softTtl = softTtl;
+            }
+
+            public Duration getHardTtl() {
+                return hardTtl;
+            }
+
+            public void setHardTtl(Duration hardTtl) {
+                this.hardTtl = hardTtl;
+            }
+
+            public Duration getNegativeTtl() {
+                return negativeTtl;
+            }
+
+            public void setNegativeTtl(Duration negativeTtl) {
+                this.negativeTtl = negativeTtl;
+            }
+
+            public DataSize getMaximumWeight() {
+                return maximumWeight;
+            }
+
+            public void setMaximumWeight(DataSize maximumWeight) {
+                this.maximumWeight = maximumWeight;
+            }
+        }
+
+        /**
+         * Settings for values stored in Redis
+         */
+        public static class Redis {
+            private ValueFormat valueFormat = ValueFormat.COMPACT;
+            private DataSize compressionThreshold = DataSize.ofKilobytes(1);
+            private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+            private final EarlyExpiration earlyExpiration = new EarlyExpiration();
+
+            // Getters and setters
+            public ValueFormat getValueFormat() {
+                return valueFormat;
+            }
+
+            public void setValueFormat(ValueFormat valueFormat) {
+                this.valueFormat = valueFormat;
+            }
+
+            public DataSize getCompressionThreshold() {
+                return compressionThreshold;
+            }
+
+            public void setCompressionThreshold(DataSize compressionThreshold) {
+                this.compressionThreshold = compressionThreshold;
+            }
+
+            public CircuitBreaker getCircuitBreaker() {
+                return circuitBreaker;
+            }
+
+            public EarlyExpiration getEarlyExpiration() {
+                return earlyExpiration;
+            }
+
+            /**
+             * Encoding used for cache values
+             */
+            public enum ValueFormat {
+                /** Versioned binary encoding with optional LZ4 compression; also reads JSON entries */
+                COMPACT,
+                /** Jackson JSON with embedded type information */
+                JSON
+            }
+
+            /**
+             * Settings for probabilistic early recomputation of entries shortly before they expire in Redis
+             */
+            public static class EarlyExpiration {
+                private boolean enabled = true;
+                private double beta = 1.0;
+                private Duration initialRecomputeTime = Duration.ofMillis(200);
+
+                // Getters and setters
+                public boolean isEnabled() {
+                    return enabled;
+                }
+
+                public void setEnabled(boolean enabled) {
+                    this.enabled = enabled;
+                }
+
+                public double getBeta() {
+                    return beta;
+                }
+
+                public void setBeta(double beta) {
+                    this.beta = beta;
+                }
+
+                public Duration getInitialRecomputeTime() {
+                    return initialRecomputeTime;
+                }
+
+                public void setInitialRecomputeTime(Duration initialRecomputeTime) {
+                    this.initialRecomputeTime = initialRecomputeTime;
+                }
+            }
+
+            /**
+             * Settings for the circuit breaker that fails caches over to the in-memory cache while Redis is unhealthy
+             */
+            public static class CircuitBreaker {
+                private int slidingWindowSize = 20;
+                private int minimumCalls = 10;
+                private float failureRateThreshold = 50;
+                private Duration probeInterval = Duration.ofSeconds(5);
+                private Duration slowCallThreshold = Duration.ofMillis(100);
+
+                // Getters and setters
+                public int getSlidingWindowSize() {
+                    return slidingWindowSize;
+                }
+
+                public void setSlidingWindowSize(int slidingWindowSize) {
+                    this.slidingWindowSize = slidingWindowSize;
+                }
+
+                public int getMinimumCalls() {
+                    return minimumCalls;
+                }
+
+                public void setMinimumCalls(int minimumCalls) {
+                    this.minimumCalls = minimumCalls;
+                }
+
+                public float getFailureRateThreshold() {
+                    return failureRateThreshold;
+                }
+
+                public void setFailureRateThreshold(float failureRateThreshold) {
+                    this.failureRateThreshold = failureRateThreshold;
+                }
+
+                public Duration getProbeInterval() {
+                    return probeInterval;
+                }
+
+                public void setProbeInterval(Duration probeInterval) {
+                    this.probeInterval = probeInterval;
+                }
+
+                public Duration getSlowCallThreshold() {
+                    return slowCallThreshold;
+                }
+
+                public void setSlowCallThreshold(Duration slowCallThreshold) {
+                    this.slowCallThreshold = slowCallThreshold;
+                }
+            }
+        }
+
+        /**
+         * Settings for the background refresh executor
+         */
+        public static class Refresh {
+            private int threads = 2;
+            private int queueCapacity = 1000;
+
+            // Getters and setters
+            public int getThreads() {
+                return threads;
+            }
+
+            public void setThreads(int threads) {
+                this.threads = threads;
+            }
+
+            public int getQueueCapacity() {
+                return queueCapacity;
+            }
+
+            public void setQueueCapacity(int queueCapacity) {
+                this.queueCapacity = queueCapacity;
+            }
+        }
+
+        /**
+         * Settings for the cache warm-up that runs before the application reports ready
+         */
+        public static class WarmUp {
+            private boolean enabled;
+            private Duration timeBudget = Duration.ofSeconds(30);
+            private List<String> resources = new ArrayList<>();
+
+            // Getters and setters
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public Duration getTimeBudget() {
+                return timeBudget;
+            }
+
+            public void setTimeBudget(Duration timeBudget) {
+                this.timeBudget = timeBudget;
+            }
+
+            public List<String> getResources() {
+                return resources;
+            }
+
+            public void setResources(List<String> resources) {
+                this.resources = resources;
+            }
+        }
+
+        /**
+         * Settings for the on-disk snapshot of the in-memory caches
+         */
+        public static class Snapshot {
+            private boolean enabled;
+            private String path = "cache-snapshot.bin";
+            private Duration checkpointInterval = Duration.ofMinutes(1);
+
+            // Getters and setters
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public String getPath() {
+                return path;
+            }
+
+            public void setPath(String path) {
+                this.path = path;
+            }
+
+            public Duration getCheckpointInterval() {
+                return checkpointInterval;
+            }
+
+            public void setCheckpointInterval(Duration checkpointInterval) {
+                this.checkpointInterval = checkpointInterval;
+            }
+        }
+
+        /**
+         * Settings for generated cache keys
+         */
+        public static class Key {
+            private int maxLength = 200;
+
+            // Getters and setters
+            public int getMaxLength() {
+                return maxLength;
+            }
+
+            public void setMaxLength(int maxLength) {
+                this.maxLength = maxLength;
+            }
+        }
+
+        /**
+         * Settings for the in-process (L1) near cache kept in front of Redis
+         */
+        public static class Near {
+            private boolean enabled = true;
+            private long maximumSize = 10_000;
+            private Duration timeToLive = Duration.ofSeconds(30);
+            private String invalidationTopic = "cache:invalidation";
+
+            // Getters and setters
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public long getMaximumSize() {
+                return maximumSize;
+            }
+
+            public void setMaximumSize(long maximumSize) {
+                this.maximumSize = maximumSize;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+
+            public String getInvalidationTopic() {
+                return invalidationTopic;
+            }
+
+            public void setInvalidationTopic(String invalidationTopic) {
+                this.invalidationTopic = invalidationTopic;
+            }
+        }
+    }
+}
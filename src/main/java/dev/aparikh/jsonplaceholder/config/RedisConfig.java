@@ -1,23 +1,59 @@
 package dev.aparikh.jsonplaceholder.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.aparikh.jsonplaceholder.cache.CacheMetrics;
+import dev.aparikh.jsonplaceholder.cache.CacheRefresher;
+import dev.aparikh.jsonplaceholder.cache.CompactCacheSerializer;
+import dev.aparikh.jsonplaceholder.cache.DecoratingCacheManager;
+import dev.aparikh.jsonplaceholder.cache.EarlyExpirationCache;
+import dev.aparikh.jsonplaceholder.cache.EntrySizeEstimator;
+import dev.aparikh.jsonplaceholder.cache.InstrumentedCache;
+import dev.aparikh.jsonplaceholder.cache.LocalCacheManager;
+import dev.aparikh.jsonplaceholder.cache.LocalCacheSnapshot;
+import dev.aparikh.jsonplaceholder.cache.NegativeAwareExpiry;
+import dev.aparikh.jsonplaceholder.cache.NegativeResults;
+import dev.aparikh.jsonplaceholder.cache.NearCacheInvalidator;
+import dev.aparikh.jsonplaceholder.cache.PipelinedRedisCache;
+import dev.aparikh.jsonplaceholder.cache.PipelinedRedisCacheManager;
+import dev.aparikh.jsonplaceholder.cache.RefreshAheadCache;
+import dev.aparikh.jsonplaceholder.cache.ResilientCache;
+import dev.aparikh.jsonplaceholder.cache.ResilientCacheManager;
+import dev.aparikh.jsonplaceholder.cache.RevalidatingCache;
+import dev.aparikh.jsonplaceholder.cache.SingleFlightCache;
+import dev.aparikh.jsonplaceholder.cache.TwoTierCacheManager;
+import dev.aparikh.jsonplaceholder.resilience.CircuitBreaker;
+import io.lettuce.core.ReadFrom;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisSentinelConfiguration;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Configuration class for Redis with Sentinel support.
  */
@@ -31,8 +67,17 @@ public class RedisConfig {
     @Value("${spring.data.redis.sentinel.nodes:localhost:26379}")
     private String nodes;
 
+    @Value("${spring.data.redis.timeout:60s}")
+    private Duration commandTimeout;
+
+    /** Which Sentinel-managed node serves reads: upstream (master), replica-preferred or lowest-latency */
+    @Value("${cache.redis.read-from:upstream}")
+    private String readFrom;
+
     /**
      * Creates a Redis connection factory configured with Redis Sentinel.
+     * Read-only commands are routed according to {@code cache.redis.read-from}; writes, evictions and
+     * pub/sub always go to the master.
      *
      * @return A configured RedisConnectionFactory instance
      */
@@ -40,7 +85,9 @@ public class RedisConfig {
     public RedisConnectionFactory redisConnectionFactory() {
         // If master is empty, use a standalone Redis configuration
         if (master == null || master.isEmpty()) {
-            return new LettuceConnectionFactory();
+            return new LettuceConnectionFactory(new RedisStandaloneConfiguration(), LettuceClientConfiguration.builder()
+                    .commandTimeout(commandTimeout)
+                    .build());
         }
 
         // Otherwise, use Sentinel configuration
@@ -58,7 +105,18 @@ public class RedisConfig {
             }
         }
 
-        return new LettuceConnectionFactory(sentinelConfig);
+        LettuceClientConfiguration clientConfig = LettuceClientConfiguration.builder()
+                .readFrom(readFrom(readFrom))
+                .commandTimeout(commandTimeout)
+                .build();
+        return new LettuceConnectionFactory(sentinelConfig, clientConfig);
+    }
+
+    /**
+     * Parses a read policy such as {@code upstream}, {@code replica-preferred} or {@code lowest-latency}.
+     */
+    private static ReadFrom readFrom(String policy) {
+        return ReadFrom.valueOf(policy.replace("-", "").replace("_", ""));
     }
 
     /**
@@ -84,30 +142,151 @@ public class RedisConfig {
     private String cacheType;
 
     /**
-     * Creates a cache manager that tries Redis first and falls back to in-memory cache.
+     * Creates a cache manager that uses Redis while it is healthy and the in-memory cache otherwise.
+     * When Redis is enabled and the near cache is enabled, a bounded in-process cache is kept in front of it.
+     * Every cache is wrapped so concurrent misses on a key share one load, entries past their soft TTL
+     * are refreshed in the background and hits, misses, loads and entry sizes are published as metrics.
+     * Values are stored with the validators of their upstream response, so a background refresh of an unchanged
+     * resource is answered with {@code 304 Not Modified} and only restarts the entry's time-to-live.
+     * When the cache snapshot is enabled, the in-memory caches are reloaded from it here, before any request is
+     * served, and the restored entries are marked stale so they are revalidated in the background on first use.
      *
+     * @param cacheProperties The cache configuration properties
+     * @param nearCacheInvalidator Keeps near caches coherent across nodes (only present with Redis caching)
+     * @param redisCircuitBreaker Tracks Redis health (only present with Redis caching)
+     * @param localCacheSnapshot Persists the in-memory caches (only present when the snapshot is enabled)
+     * @param cacheRefresher The executor for background refreshes
+     * @param meterRegistry The registry for cache metrics
      * @return A configured CacheManager instance
      */
     @Bean
     @Primary
-    public CacheManager cacheManager() {
+    public CacheManager cacheManager(CacheConfig.CacheProperties cacheProperties,
+                                     ObjectProvider<NearCacheInvalidator> nearCacheInvalidator,
+                                     ObjectProvider<CircuitBreaker> redisCircuitBreaker,
+                                     ObjectProvider<LocalCacheSnapshot> localCacheSnapshot,
+                                     CacheRefresher cacheRefresher,
+                                     MeterRegistry meterRegistry) {
+        CacheManager localCacheManager = localCacheManager(cacheProperties, meterRegistry);
+        LocalCacheSnapshot snapshot = localCacheSnapshot.getIfAvailable();
+        if (snapshot != null) {
+            snapshot.attach(localCacheManager);
+        }
+
+        CacheManager cacheManager = backingCacheManager(cacheProperties, nearCacheInvalidator,
+                redisCircuitBreaker, localCacheManager, meterRegistry);
+        return new DecoratingCacheManager(cacheManager, cache -> {
+            CacheConfig.CacheProperties.Spec spec = cacheProperties.spec(cache.getName());
+            Cache singleFlight = new SingleFlightCache(cache, meterRegistry);
+            RefreshAheadCache refreshAhead = new RefreshAheadCache(singleFlight, spec.getSoftTtl(), spec.getHardTtl(),
+                    cacheRefresher);
+            if (snapshot != null) {
+                refreshAhead.markStale(snapshot.restoredKeys(cache.getName()));
+            }
+            CacheMetrics localMetrics = new CacheMetrics(meterRegistry, cache.getName(), "local");
+            if (cache instanceof ResilientCache resilientCache) {
+                // Tagged per call with the store that served it, since the cache fails over to memory
+                CacheMetrics redisMetrics = new CacheMetrics(meterRegistry, cache.getName(), "redis");
+                return new RevalidatingCache(new InstrumentedCache(refreshAhead,
+                        () -> resilientCache.wasServedLocally() ? localMetrics : redisMetrics));
+            }
+            return new RevalidatingCache(new InstrumentedCache(refreshAhead, localMetrics));
+        });
+    }
+
+    private CacheManager backingCacheManager(CacheConfig.CacheProperties cacheProperties,
+                                             ObjectProvider<NearCacheInvalidator> nearCacheInvalidator,
+                                             ObjectProvider<CircuitBreaker> redisCircuitBreaker,
+                                             CacheManager localCacheManager,
+                                             MeterRegistry meterRegistry) {
         Logger logger = LoggerFactory.getLogger(RedisConfig.class);
         
         // Check if Redis caching is enabled
-        if (!"redis".equals(cacheType)) {
+        CircuitBreaker circuitBreaker = redisCircuitBreaker.getIfAvailable();
+        if (!"redis".equals(cacheType) || circuitBreaker == null) {
             logger.info("Redis caching disabled (cache.type={}), using in-memory cache manager", cacheType);
-            return new ConcurrentMapCacheManager("posts", "postsByUser", "apiData");
+            return localCacheManager;
         }
-        
-        try {
-            // Try to create Redis connection factory and test connection
-            RedisConnectionFactory connectionFactory = redisConnectionFactory();
-            connectionFactory.getConnection().ping();
-            logger.info("Redis connection successful, using Redis cache manager");
-            return RedisCacheManager.builder(connectionFactory).build();
-        } catch (Exception e) {
-            logger.warn("Redis connection failed, falling back to in-memory cache: {}", e.getMessage());
-            return new ConcurrentMapCacheManager("posts", "postsByUser", "apiData");
+
+        // Redis health is tracked per call; caches fail over to memory while the circuit breaker is open
+        CacheManager remoteCacheManager = redisCacheManager(redisConnectionFactory(), cacheProperties);
+        CacheConfig.CacheProperties.Redis.EarlyExpiration earlyExpiration = cacheProperties.getRedis().getEarlyExpiration();
+        if (earlyExpiration.isEnabled()) {
+            // Directly on Redis, so the decision uses the TTL shared by all nodes rather than the near cache's
+            logger.info("Early expiration enabled (beta={})", earlyExpiration.getBeta());
+            remoteCacheManager = new DecoratingCacheManager(remoteCacheManager, cache ->
+                    cache instanceof PipelinedRedisCache redisCache
+                            ? new EarlyExpirationCache(redisCache, earlyExpiration.getBeta(),
+                                    earlyExpiration.getInitialRecomputeTime(), meterRegistry)
+                            : cache);
+        }
+        CacheConfig.CacheProperties.Near near = cacheProperties.getNear();
+        NearCacheInvalidator invalidator = nearCacheInvalidator.getIfAvailable();
+        if (near.isEnabled() && invalidator != null) {
+            logger.info("Near cache enabled (maximumSize={}, timeToLive={})", near.getMaximumSize(), near.getTimeToLive());
+            remoteCacheManager = new TwoTierCacheManager(remoteCacheManager, name -> nearCache(name, near), invalidator);
         }
+        logger.info("Using Redis cache manager with in-memory fail-over (circuit breaker {})", circuitBreaker.getState());
+        return new ResilientCacheManager(remoteCacheManager, localCacheManager, circuitBreaker,
+                cacheProperties.getRedis().getCircuitBreaker().getSlowCallThreshold());
+    }
+
+    /**
+     * Creates the Redis cache manager, expiring each cache's entries at its hard TTL (negative TTL for "not found").
+     * Its caches write batches of entries in one pipeline.
+     */
+    private static RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory,
+                                                       CacheConfig.CacheProperties cacheProperties) {
+        RedisCacheConfiguration baseConfiguration = RedisCacheConfiguration.defaultCacheConfig()
+                .serializeValuesWith(SerializationPair.fromSerializer(cacheValueSerializer(cacheProperties.getRedis())));
+
+        Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
+        cacheProperties.getSpecs().forEach((name, spec) ->
+                cacheConfigurations.put(name, baseConfiguration.entryTtl(timeToLive(spec))));
+
+        PipelinedRedisCacheManager cacheManager = new PipelinedRedisCacheManager(connectionFactory,
+                baseConfiguration.entryTtl(timeToLive(cacheProperties.getDefaults())), cacheConfigurations);
+        // Not a bean of its own, so load the per-cache configurations here; caches created on demand use the defaults
+        cacheManager.afterPropertiesSet();
+        return cacheManager;
+    }
+
+    /**
+     * Expires entries at the hard TTL and negative results at the shorter negative TTL.
+     */
+    private static RedisCacheWriter.TtlFunction timeToLive(CacheConfig.CacheProperties.Spec spec) {
+        return (key, value) -> NegativeResults.isNegative(value) ? spec.getNegativeTtl() : spec.getHardTtl();
+    }
+
+    private static RedisSerializer<Object> cacheValueSerializer(CacheConfig.CacheProperties.Redis redis) {
+        if (redis.getValueFormat() == CacheConfig.CacheProperties.Redis.ValueFormat.JSON) {
+            return new GenericJackson2JsonRedisSerializer();
+        }
+        return new CompactCacheSerializer((int) redis.getCompressionThreshold().toBytes());
+    }
+
+    /**
+     * Creates the bounded in-memory cache manager used when Redis is disabled or unreachable.
+     * Each cache is limited by the estimated byte size of its entries and expires them at its hard TTL
+     * (negative results at the negative TTL);
+     * Caffeine's W-TinyLFU policy decides which entries are admitted and evicted.
+     */
+    private static CacheManager localCacheManager(CacheConfig.CacheProperties cacheProperties,
+                                                  MeterRegistry meterRegistry) {
+        return new LocalCacheManager(name -> {
+            CacheConfig.CacheProperties.Spec spec = cacheProperties.spec(name);
+            return Caffeine.newBuilder()
+                    .maximumWeight(spec.getMaximumWeight().toBytes())
+                    .<Object, Object>weigher((key, value) -> (int) Math.min(Integer.MAX_VALUE,
+                            EntrySizeEstimator.estimate(key) + EntrySizeEstimator.estimate(value)))
+                    .expireAfter(new NegativeAwareExpiry(spec.getHardTtl(), spec.getNegativeTtl()));
+        }, meterRegistry);
+    }
+
+    private static Cache nearCache(String name, CacheConfig.CacheProperties.Near near) {
+        return new CaffeineCache(name, Caffeine.newBuilder()
+                .maximumSize(near.getMaximumSize())
+                .expireAfterWrite(near.getTimeToLive())
+                .build());
     }
 }
@@ -1,8 +1,26 @@
 package dev.aparikh.jsonplaceholder.config;
 
+import dev.aparikh.jsonplaceholder.client.ConditionalRequestInterceptor;
+import dev.aparikh.jsonplaceholder.client.UpstreamResilienceInterceptor;
+import dev.aparikh.jsonplaceholder.resilience.CircuitBreaker;
+import dev.aparikh.jsonplaceholder.resilience.TokenBucket;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.client.ReactorNettyClientRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Configuration class for RestClient.
@@ -10,17 +28,372 @@ import org.springframework.web.client.RestClient;
 @Configuration
 public class RestClientConfig {
 
-    private static final String JSON_PLACEHOLDER_BASE_URL = "https://jsonplaceholder.typicode.com";
+    @Bean
+    @ConfigurationProperties(prefix = "jsonplaceholder.http-client")
+    public HttpClientProperties jsonPlaceholderHttpClientProperties() {
+        return new HttpClientProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "jsonplaceholder.resilience")
+    public ResilienceProperties jsonPlaceholderResilienceProperties() {
+        return new ResilienceProperties();
+    }
+
+    /**
+     * Creates the interceptor that revalidates cached values with their ETag / Last-Modified.
+     *
+     * @param meterRegistry The registry for revalidation metrics
+     * @return A configured ConditionalRequestInterceptor instance
+     */
+    @Bean
+    public ConditionalRequestInterceptor conditionalRequestInterceptor(MeterRegistry meterRegistry) {
+        return new ConditionalRequestInterceptor(meterRegistry);
+    }
+
+    /**
+     * Creates the interceptor that guards JSONPlaceholder requests with a rate limit, a bulkhead and a circuit
+     * breaker. While a request is refused, cache reloads keep the cached value when
+     * {@code jsonplaceholder.resilience.serve-stale} is set. The circuit breaker is owned by the interceptor rather
+     * than exposed as a bean, so it is not mistaken for the Redis circuit breaker.
+     *
+     * @param properties The resilience configuration properties
+     * @param meterRegistry The registry for resilience metrics
+     * @return A configured UpstreamResilienceInterceptor instance
+     */
+    @Bean
+    public UpstreamResilienceInterceptor upstreamResilienceInterceptor(
+            ResilienceProperties properties,
+            MeterRegistry meterRegistry) {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("jsonplaceholder", properties.getSlidingWindowSize(),
+                properties.getMinimumCalls(), properties.getFailureRateThreshold(), properties.getOpenDuration());
+        TokenBucket rateLimiter = new TokenBucket(properties.getRateLimit(), properties.getRateLimitBurst());
+        return new UpstreamResilienceInterceptor(circuitBreaker, properties.getMaxConcurrentCalls(),
+                properties.getMaxWait(), rateLimiter, properties.getRateLimitTimeout(),
+                properties.isServeStale(), meterRegistry);
+    }
+
+    /**
+     * Creates the keep-alive connection pool for JSONPlaceholder requests.
+     * The pool is bounded per remote host, evicts idle and old connections in the background and publishes
+     * its utilization ({@code reactor.netty.connection.provider.*} active, idle and pending connections and
+     * the time spent waiting for a connection) to Micrometer.
+     *
+     * @param properties The HTTP client configuration properties
+     * @return A configured ConnectionProvider instance
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider jsonPlaceholderConnectionProvider(HttpClientProperties properties) {
+        return ConnectionProvider.builder("jsonplaceholder")
+                .maxConnections(properties.getMaxConnectionsPerRoute())
+                .pendingAcquireMaxCount(properties.getMaxPendingAcquires())
+                .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .maxLifeTime(properties.getMaxLifeTime())
+                .evictInBackground(properties.getEvictionInterval())
+                .metrics(true)
+                .build();
+    }
 
     /**
      * Creates a RestClient bean configured to interact with the JSONPlaceholder API.
+     * Requests share a pool of keep-alive connections, use HTTP/2 when the server negotiates it and are bounded
+     * by connect, read and response timeouts. Cache reloads are sent as conditional requests, so unchanged
+     * resources are not downloaded again, and all requests pass the upstream rate limit, bulkhead and circuit
+     * breaker.
      *
+     * @param upstreamResilienceInterceptor The interceptor that protects against a slow or failing upstream
+     * @param conditionalRequestInterceptor The interceptor that revalidates cached values
+     * @param jsonPlaceholderConnectionProvider The connection pool
+     * @param properties The HTTP client configuration properties
      * @return A configured RestClient instance
      */
     @Bean
-    public RestClient jsonPlaceholderRestClient() {
+    public RestClient jsonPlaceholderRestClient(UpstreamResilienceInterceptor upstreamResilienceInterceptor,
+                                                ConditionalRequestInterceptor conditionalRequestInterceptor,
+                                                ConnectionProvider jsonPlaceholderConnectionProvider,
+                                                HttpClientProperties properties) {
+        ReactorNettyClientRequestFactory requestFactory =
+                new ReactorNettyClientRequestFactory(httpClient(jsonPlaceholderConnectionProvider, properties));
+        requestFactory.setConnectTimeout(properties.getConnectTimeout());
+        requestFactory.setReadTimeout(properties.getReadTimeout());
+        requestFactory.setExchangeTimeout(properties.getResponseTimeout());
+
+        return RestClient.builder()
+                .baseUrl(properties.getBaseUrl())
+                .requestFactory(requestFactory)
+                .requestInterceptor(upstreamResilienceInterceptor)
+                .requestInterceptor(conditionalRequestInterceptor)
+                .build();
+    }
+
+    /**
+     * Creates a RestClient for relaying large JSONPlaceholder collections without holding them in memory.
+     * It uses the JDK HTTP client, whose response body is read from the socket as the caller consumes it, and
+     * has no conditional-request interceptor, since what it relays is not cached. It shares the rate limit, bulkhead and circuit breaker of the buffering client.
+     *
+     * @param upstreamResilienceInterceptor The interceptor that protects against a slow or failing upstream
+     * @param properties The HTTP client configuration properties
+     * @return A configured RestClient instance
+     */
+    @Bean
+    public RestClient jsonPlaceholderStreamingRestClient(UpstreamResilienceInterceptor upstreamResilienceInterceptor,
+                                                         HttpClientProperties properties) {
+        java.net.http.HttpClient httpClient = java.net.http.HttpClient.newBuilder()
+                .version(properties.isHttp2()
+                        ? java.net.http.HttpClient.Version.HTTP_2
+                        : java.net.http.HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.getConnectTimeout())
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(properties.getResponseTimeout());
+
         return RestClient.builder()
-                .baseUrl(JSON_PLACEHOLDER_BASE_URL)
+                .baseUrl(properties.getBaseUrl())
+                .requestFactory(requestFactory)
+                .requestInterceptor(upstreamResilienceInterceptor)
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Creates a non-blocking WebClient for the JSONPlaceholder API.
+     * It shares the connection pool, protocol and timeouts of the RestClient, as well as its rate limit, bulkhead
+     * and circuit breaker; responses are read on the Reactor Netty event loop, so waiting for a slow upstream does
+     * not hold a thread.
+     *
+     * @param upstreamResilienceInterceptor The filter that protects against a slow or failing upstream
+     * @param jsonPlaceholderConnectionProvider The connection pool
+     * @param properties The HTTP client configuration properties
+     * @return A configured WebClient instance
+     */
+    @Bean
+    public WebClient jsonPlaceholderWebClient(UpstreamResilienceInterceptor upstreamResilienceInterceptor,
+                                              ConnectionProvider jsonPlaceholderConnectionProvider,
+                                              HttpClientProperties properties) {
+        Duration readTimeout = properties.getReadTimeout();
+        HttpClient httpClient = httpClient(jsonPlaceholderConnectionProvider, properties)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .doOnConnected(connection -> connection.addHandlerLast(
+                        new ReadTimeoutHandler(readTimeout.toMillis(), TimeUnit.MILLISECONDS)));
+
+        return WebClient.builder()
+                .baseUrl(properties.getBaseUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(upstreamResilienceInterceptor)
+                .codecs(configurer -> configurer
+                        .defaultCodecs()
+                        .maxInMemorySize(10 * 1024 * 1024)) // 10MB buffer for large collections
+                .build();
+    }
+
+    private static HttpClient httpClient(ConnectionProvider connectionProvider, HttpClientProperties properties) {
+        return HttpClient.create(connectionProvider)
+                .protocol(properties.isHttp2()
+                        ? new HttpProtocol[]{HttpProtocol.H2, HttpProtocol.HTTP11}
+                        : new HttpProtocol[]{HttpProtocol.HTTP11})
+                .responseTimeout(properties.getResponseTimeout());
+    }
+
+    /**
+     * Configuration properties for the JSONPlaceholder HTTP client
+     */
+    public static class HttpClientProperties {
+        private String baseUrl = "https://jsonplaceholder.typicode.com";
+        private int maxConnectionsPerRoute = 50;
+        private int maxPendingAcquires = 500;
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+        private Duration evictionInterval = Duration.ofSeconds(30);
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration readTimeout = Duration.ofSeconds(10);
+        private Duration responseTimeout = Duration.ofSeconds(15);
+        private boolean http2 = true;
+
+        // Getters and setters
+        public String getBaseUrl() {
+            return baseUrl;
+        }
+
+        public void setBaseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        public int getMaxConnectionsPerRoute() {
+            return maxConnectionsPerRoute;
+        }
+
+        public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+            this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        }
+
+        public int getMaxPendingAcquires() {
+            return maxPendingAcquires;
+        }
+
+        public void setMaxPendingAcquires(int maxPendingAcquires) {
+            this.maxPendingAcquires = maxPendingAcquires;
+        }
+
+        public Duration getPendingAcquireTimeout() {
+            return pendingAcquireTimeout;
+        }
+
+        public void setPendingAcquireTimeout(Duration pendingAcquireTimeout) {
+            this.pendingAcquireTimeout = pendingAcquireTimeout;
+        }
+
+        public Duration getMaxIdleTime() {
+            return maxIdleTime;
+        }
+
+        public void setMaxIdleTime(Duration maxIdleTime) {
+            this.maxIdleTime = maxIdleTime;
+        }
+
+        public Duration getMaxLifeTime() {
+            return maxLifeTime;
+        }
+
+        public void setMaxLifeTime(Duration maxLifeTime) {
+            this.maxLifeTime = maxLifeTime;
+        }
+
+        public Duration getEvictionInterval() {
+            return evictionInterval;
+        }
+
+        public void setEvictionInterval(Duration evictionInterval) {
+            this.evictionInterval = evictionInterval;
+        }
+
+        public Duration getConnectTimeout() {
+            return connectTimeout;
+        }
+
+        public void setConnectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+        }
+
+        public Duration getReadTimeout() {
+            return readTimeout;
+        }
+
+        public void setReadTimeout(Duration readTimeout) {
+            this.readTimeout = readTimeout;
+        }
+
+        public Duration getResponseTimeout() {
+            return responseTimeout;
+        }
+
+        public void setResponseTimeout(Duration responseTimeout) {
+            this.responseTimeout = responseTimeout;
+        }
+
+        public boolean isHttp2() {
+            return http2;
+        }
+
+        public void setHttp2(boolean http2) {
+            this.http2 = http2;
+        }
+    }
+
+    /**
+     * Configuration properties for the protection of JSONPlaceholder requests
+     */
+    public static class ResilienceProperties {
+        private int maxConcurrentCalls = 50;
+        private Duration maxWait = Duration.ofMillis(100);
+        private double rateLimit = 100;
+        private int rateLimitBurst = 100;
+        private Duration rateLimitTimeout = Duration.ofMillis(100);
+        private int slidingWindowSize = 50;
+        private int minimumCalls = 20;
+        private float failureRateThreshold = 50;
+        private Duration openDuration = Duration.ofSeconds(30);
+        private boolean serveStale = true;
+
+        // Getters and setters
+        public int getMaxConcurrentCalls() {
+            return maxConcurrentCalls;
+        }
+
+        public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+            this.maxConcurrentCalls = maxConcurrentCalls;
+        }
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+
+        public double getRateLimit() {
+            return rateLimit;
+        }
+
+        public void setRateLimit(double rateLimit) {
+            this.rateLimit = rateLimit;
+        }
+
+        public int getRateLimitBurst() {
+            return rateLimitBurst;
+        }
+
+        public void setRateLimitBurst(int rateLimitBurst) {
+            this.rateLimitBurst = rateLimitBurst;
+        }
+
+        public Duration getRateLimitTimeout() {
+            return rateLimitTimeout;
+        }
+
+        public void setRateLimitTimeout(Duration rateLimitTimeout) {
+            this.rateLimitTimeout = rateLimitTimeout;
+        }
+
+        public int getSlidingWindowSize() {
+            return slidingWindowSize;
+        }
+
+        public void setSlidingWindowSize(int slidingWindowSize) {
+            this.slidingWindowSize = slidingWindowSize;
+        }
+
+        public int getMinimumCalls() {
+            return minimumCalls;
+        }
+
+        public void setMinimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+        }
+
+        public float getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(float failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public Duration getOpenDuration() {
+            return openDuration;
+        }
+
+        public void setOpenDuration(Duration openDuration) {
+            this.openDuration = openDuration;
+        }
+
+        public boolean isServeStale() {
+            return serveStale;
+        }
+
+        public void setServeStale(boolean serveStale) {
+            this.serveStale = serveStale;
+        }
+    }
+}
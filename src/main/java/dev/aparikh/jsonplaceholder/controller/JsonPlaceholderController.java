@@ -1,9 +1,14 @@
 package dev.aparikh.jsonplaceholder.controller;
 
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import dev.aparikh.jsonplaceholder.dto.BatchItemResult;
 import dev.aparikh.jsonplaceholder.model.ApiResponse;
 import dev.aparikh.jsonplaceholder.model.Post;
+import dev.aparikh.jsonplaceholder.model.RawResponse;
 import dev.aparikh.jsonplaceholder.service.DocumentService;
+import dev.aparikh.jsonplaceholder.service.FanOutService;
 import dev.aparikh.jsonplaceholder.service.JsonPlaceholderService;
+import dev.aparikh.jsonplaceholder.service.JsonStreamingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,27 +18,46 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 
 /**
  * REST controller for accessing JSONPlaceholder data.
+ * Successful reads carry a strong ETag; a request whose {@code If-None-Match} matches it gets an empty
+ * {@code 304 Not Modified} instead of the body.
+ * The generic collection endpoints also accept {@code stream=true}, which relays the upstream collection element
+ * by element instead of loading it into memory; streamed responses carry no ETag. The generic single-resource
+ * endpoints accept {@code raw=true}, which relays the cached upstream bytes inside the envelope without decoding them.
  */
 @RestController
 @RequestMapping("/api/posts")
 public class JsonPlaceholderController {
 
     private static final Logger logger = LoggerFactory.getLogger(JsonPlaceholderController.class);
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final byte[] RAW_ENVELOPE_PREFIX = "{\"status\":\"success\",\"data\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] RAW_ENVELOPE_SUFFIX = ",\"message\":null}".getBytes(StandardCharsets.UTF_8);
     private final JsonPlaceholderService jsonPlaceholderService;
     private final DocumentService documentService;
+    private final ResponseETags responseETags;
+    private final JsonStreamingService jsonStreamingService;
+    private final FanOutService fanOutService;
 
     @Autowired
-    public JsonPlaceholderController(JsonPlaceholderService jsonPlaceholderService, DocumentService documentService) {
+    public JsonPlaceholderController(JsonPlaceholderService jsonPlaceholderService, DocumentService documentService,
+                                     ResponseETags responseETags, JsonStreamingService jsonStreamingService,
+                                     FanOutService fanOutService) {
         this.jsonPlaceholderService = jsonPlaceholderService;
         this.documentService = documentService;
+        this.responseETags = responseETags;
+        this.jsonStreamingService = jsonStreamingService;
+        this.fanOutService = fanOutService;
     }
 
     /**
@@ -46,7 +70,7 @@ public class JsonPlaceholderController {
         logger.info("Received request to get all posts");
         try {
             List<Post> posts = jsonPlaceholderService.getAllPosts();
-            return ResponseEntity.ok(ApiResponse.success(posts));
+            return success(posts);
         } catch (Exception e) {
             logger.error("Error retrieving all posts", e);
             return ResponseEntity
@@ -55,6 +79,31 @@ public class JsonPlaceholderController {
         }
     }
 
+    /**
+     * Retrieves several posts by their IDs in one request, e.g. {@code GET /api/posts?ids=1,5,9}.
+     *
+     * @param ids The IDs of the posts to retrieve
+     * @return A ResponseEntity containing an ApiResponse with the posts found, in the order of the requested IDs
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<ApiResponse<List<Post>>> getPostsByIds(@RequestParam List<Long> ids) {
+        logger.info("Received request to get {} posts by ID", ids.size());
+        if (ids.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("At most " + MAX_BATCH_SIZE + " IDs can be requested at once"));
+        }
+        try {
+            List<Post> posts = jsonPlaceholderService.getPostsByIds(ids);
+            return success(posts);
+        } catch (Exception e) {
+            logger.error("Error retrieving posts with IDs: {}", ids, e);
+            return ResponseEntity
+                    .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to retrieve posts: " + e.getMessage()));
+        }
+    }
+
     /**
      * Retrieves a specific post by its ID.
      *
@@ -67,7 +116,7 @@ public class JsonPlaceholderController {
         try {
             Optional<Post> post = jsonPlaceholderService.getPostById(id);
             return post
-                    .map(p -> ResponseEntity.ok(ApiResponse.success(p)))
+                    .map(this::success)
                     .orElseGet(() -> ResponseEntity
                             .status(HttpStatus.NOT_FOUND)
                             .body(ApiResponse.error("Post not found with ID: " + id)));
@@ -90,7 +139,7 @@ public class JsonPlaceholderController {
         logger.info("Received request to get posts for user with ID: {}", userId);
         try {
             List<Post> posts = jsonPlaceholderService.getPostsByUserId(userId);
-            return ResponseEntity.ok(ApiResponse.success(posts));
+            return success(posts);
         } catch (Exception e) {
             logger.error("Error retrieving posts for user with ID: {}", userId, e);
             return ResponseEntity
@@ -111,7 +160,12 @@ public class JsonPlaceholderController {
         try {
             // Use the generic method to fetch data as a Map (or any other appropriate type)
             Object data = jsonPlaceholderService.getForObject("/" + path, Object.class);
-            return ResponseEntity.ok(ApiResponse.success(data));
+            if (data == null) {
+                return ResponseEntity
+                        .status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("No data found at path: " + path));
+            }
+            return success(data);
         } catch (Exception e) {
             logger.error("Error retrieving generic data from path: {}", path, e);
             return ResponseEntity
@@ -139,7 +193,12 @@ public class JsonPlaceholderController {
 
             // Use the generic method to fetch data as a Map (or any other appropriate type)
             Object data = jsonPlaceholderService.getForObject("/" + path + "/{id}", Object.class, uriVariables);
-            return ResponseEntity.ok(ApiResponse.success(data));
+            if (data == null) {
+                return ResponseEntity
+                        .status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("No data found at path: " + path + "/" + id));
+            }
+            return success(data);
         } catch (Exception e) {
             logger.error("Error retrieving generic data from path: {}/{}", path, id, e);
             return ResponseEntity
@@ -161,20 +220,17 @@ public class JsonPlaceholderController {
             @RequestParam Map<String, String> params) {
         logger.info("Received request to get generic data from path: {} with params: {}", path, params);
         try {
-            // Build the query string
-            StringBuilder queryString = new StringBuilder("/" + path + "?");
-            for (Map.Entry<String, String> entry : params.entrySet()) {
-                queryString.append(entry.getKey()).append("=").append("{").append(entry.getKey()).append("}").append("&");
-            }
-            // Remove the trailing &
-            String uri = queryString.substring(0, queryString.length() - 1);
-
             // Use the generic method to fetch data as a List of Maps
             List<Object> data = jsonPlaceholderService.getForObject(
-                    uri,
+                    queryUri(path, params),
                     new ParameterizedTypeReference<>() {},
                     new HashMap<>(params));
-            return ResponseEntity.ok(ApiResponse.success(data));
+            if (data == null) {
+                return ResponseEntity
+                        .status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("No data found at path: " + path));
+            }
+            return success(data);
         } catch (Exception e) {
             logger.error("Error retrieving generic data from path: {} with params: {}", path, params, e);
             return ResponseEntity
@@ -183,6 +239,86 @@ public class JsonPlaceholderController {
         }
     }
 
+    /**
+     * Fetches several resources in one request, e.g. {@code ["/users/1", "/posts?userId=1", "/comments?postId=1"]}.
+     * The resources are fetched concurrently under a shared deadline; a resource that fails or does not complete in
+     * time is reported in its own item without failing the others.
+     *
+     * @param paths The resource paths relative to the API base URL
+     * @return A ResponseEntity containing an ApiResponse with one result per path, in request order
+     */
+    @PostMapping("/generic/batch")
+    public ResponseEntity<ApiResponse<List<BatchItemResult>>> getGenericDataBatch(@RequestBody List<String> paths) {
+        logger.info("Received request to get {} generic resources in one batch", paths.size());
+        if (paths.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("At most " + MAX_BATCH_SIZE + " paths can be requested at once"));
+        }
+        List<BatchItemResult> results = fanOutService.fetchAll(paths);
+        long failures = results.stream().filter(result -> !"success".equals(result.getStatus())).count();
+        String message = failures > 0 ? failures + " of " + results.size() + " resources could not be retrieved" : null;
+        return ResponseEntity.ok(new ApiResponse<>("success", results, message));
+    }
+
+    /**
+     * Streaming variant of {@link #getGenericData(String)}, selected with {@code stream=true}.
+     * The upstream collection is copied to the response element by element as it is parsed, so heap use does not
+     * grow with its size.
+     *
+     * @param path The path to the resource (e.g., "photos", "comments")
+     * @return A ResponseEntity whose body streams an ApiResponse with the requested data
+     */
+    @GetMapping(value = "/generic/{path}", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamGenericData(@PathVariable String path) {
+        logger.info("Received request to stream generic data from path: {}", path);
+        return stream(path, "/" + path, Map.of());
+    }
+
+    /**
+     * Streaming variant of {@link #getGenericDataWithParams(String, Map)}, selected with {@code stream=true}.
+     *
+     * @param path The path to the resource (e.g., "photos", "comments")
+     * @param params A map of query parameters; {@code stream} itself is not forwarded
+     * @return A ResponseEntity whose body streams an ApiResponse with the requested data
+     */
+    @GetMapping(value = "/generic/{path}/query", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamGenericDataWithParams(
+            @PathVariable String path,
+            @RequestParam Map<String, String> params) {
+        logger.info("Received request to stream generic data from path: {} with params: {}", path, params);
+        Map<String, String> upstreamParams = new HashMap<>(params);
+        upstreamParams.remove("stream");
+        return stream(path, queryUri(path, upstreamParams), upstreamParams);
+    }
+
+    /**
+     * Pass-through variant of {@link #getGenericData(String)}, selected with {@code raw=true}.
+     * The upstream body is cached and relayed as bytes, with the envelope written around it, so the data is never
+     * decoded or re-encoded.
+     *
+     * @param path The path to the resource (e.g., "users", "todos")
+     * @return A ResponseEntity containing the ApiResponse JSON with the upstream data
+     */
+    @GetMapping(value = "/generic/{path}", params = "raw=true")
+    public ResponseEntity<byte[]> getRawGenericData(@PathVariable String path) {
+        logger.info("Received request to get raw generic data from path: {}", path);
+        return raw(path, "/" + path, Map.of());
+    }
+
+    /**
+     * Pass-through variant of {@link #getGenericDataById(String, String)}, selected with {@code raw=true}.
+     *
+     * @param path The path to the resource (e.g., "users", "todos")
+     * @param id The ID of the resource to fetch
+     * @return A ResponseEntity containing the ApiResponse JSON with the upstream data
+     */
+    @GetMapping(value = "/generic/{path}/{id}", params = "raw=true")
+    public ResponseEntity<byte[]> getRawGenericDataById(@PathVariable String path, @PathVariable String id) {
+        logger.info("Received request to get raw generic data from path: {}/{}", path, id);
+        return raw(path + "/" + id, "/" + path + "/{id}", Map.of("id", id));
+    }
+
     /**
      * Generates a document (PDF, DOCX, or RTF) containing posts.
      *
@@ -256,4 +392,106 @@ public class JsonPlaceholderController {
                     .body(("Failed to generate document: " + e.getMessage()).getBytes());
         }
     }
+
+    private ResponseEntity<StreamingResponseBody> stream(String path, String uri, Map<String, ?> uriVariables) {
+        try {
+            return jsonStreamingService.stream(uri, uriVariables)
+                    .map(body -> ResponseEntity.ok()
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .body(body))
+                    .orElseGet(() -> ResponseEntity
+                            .status(HttpStatus.NOT_FOUND)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .body(jsonStreamingService.error("No data found at path: " + path)));
+        } catch (Exception e) {
+            logger.error("Error streaming generic data from path: {}", path, e);
+            return ResponseEntity
+                    .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(jsonStreamingService.error("Failed to retrieve data: " + e.getMessage()));
+        }
+    }
+
+    private ResponseEntity<byte[]> raw(String path, String uri, Map<String, Object> uriVariables) {
+        try {
+            RawResponse data = jsonPlaceholderService.getRaw(uri, uriVariables);
+            if (data == null) {
+                return rawError(HttpStatus.NOT_FOUND, "No data found at path: " + path);
+            }
+            MediaType contentType = data.contentType() != null
+                    ? MediaType.parseMediaType(data.contentType())
+                    : MediaType.APPLICATION_JSON;
+            if (!MediaType.APPLICATION_JSON.isCompatibleWith(contentType)
+                    && !"json".equals(contentType.getSubtypeSuffix())) {
+                return rawError(HttpStatus.BAD_GATEWAY, "Upstream returned " + contentType + " instead of JSON");
+            }
+            if (isBlank(data.body())) {
+                // Spliced into the envelope, an empty body would make the response invalid JSON
+                return rawError(HttpStatus.BAD_GATEWAY, "Upstream returned an empty body");
+            }
+
+            byte[] body = new byte[RAW_ENVELOPE_PREFIX.length + data.body().length + RAW_ENVELOPE_SUFFIX.length];
+            System.arraycopy(RAW_ENVELOPE_PREFIX, 0, body, 0, RAW_ENVELOPE_PREFIX.length);
+            System.arraycopy(data.body(), 0, body, RAW_ENVELOPE_PREFIX.length, data.body().length);
+            System.arraycopy(RAW_ENVELOPE_SUFFIX, 0, body, RAW_ENVELOPE_PREFIX.length + data.body().length,
+                    RAW_ENVELOPE_SUFFIX.length);
+
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .contentType(contentType)
+                    .eTag(responseETags.of(data));
+            if (data.lastModified() != null) {
+                response.header(HttpHeaders.LAST_MODIFIED, data.lastModified());
+            }
+            return response.body(body);
+        } catch (Exception e) {
+            logger.error("Error retrieving raw generic data from path: {}", path, e);
+            return rawError(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to retrieve data: " + e.getMessage());
+        }
+    }
+
+    private static boolean isBlank(byte[] body) {
+        for (byte b : body) {
+            if (b != ' ' && b != '\t' && b != '\r' && b != '\n') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Builds an error envelope by hand, so the raw endpoints never go through object mapping.
+     */
+    private static ResponseEntity<byte[]> rawError(HttpStatus status, String message) {
+        String body = "{\"status\":\"error\",\"data\":null,\"message\":\""
+                + new String(JsonStringEncoder.getInstance().quoteAsString(message)) + "\"}";
+        return ResponseEntity
+                .status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Builds the URI template for a query on a resource, with the parameters sorted by name so the URI does not
+     * depend on their order.
+     */
+    private static String queryUri(String path, Map<String, String> params) {
+        StringBuilder queryString = new StringBuilder("/" + path);
+        String separator = "?";
+        for (String name : new TreeMap<>(params).keySet()) {
+            queryString.append(separator).append(name).append("={").append(name).append("}");
+            separator = "&";
+        }
+        return queryString.toString();
+    }
+
+    /**
+     * Wraps data in a successful response tagged with its ETag.
+     * Spring compares the tag with the request's {@code If-None-Match} header and answers {@code 304 Not Modified}
+     * without writing the body when they match.
+     */
+    private <T> ResponseEntity<ApiResponse<T>> success(T data) {
+        return ResponseEntity.ok()
+                .eTag(responseETags.of(data))
+                .body(ApiResponse.success(data));
+    }
 }
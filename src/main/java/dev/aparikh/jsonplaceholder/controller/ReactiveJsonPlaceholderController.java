@@ -0,0 +1,109 @@
+package dev.aparikh.jsonplaceholder.controller;
+
+import dev.aparikh.jsonplaceholder.model.ApiResponse;
+import dev.aparikh.jsonplaceholder.model.Post;
+import dev.aparikh.jsonplaceholder.service.ReactiveJsonPlaceholderService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link JsonPlaceholderController}.
+ * Handlers return a Mono, so the request thread is released while upstream calls are in flight and the response
+ * is written once they complete; responses use the same {@link ApiResponse} envelope.
+ */
+@RestController
+@RequestMapping("/api/reactive/posts")
+public class ReactiveJsonPlaceholderController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveJsonPlaceholderController.class);
+    private static final int MAX_BATCH_SIZE = 100;
+    private final ReactiveJsonPlaceholderService reactiveJsonPlaceholderService;
+
+    public ReactiveJsonPlaceholderController(ReactiveJsonPlaceholderService reactiveJsonPlaceholderService) {
+        this.reactiveJsonPlaceholderService = reactiveJsonPlaceholderService;
+    }
+
+    /**
+     * Retrieves all posts.
+     *
+     * @return A Mono emitting a ResponseEntity containing an ApiResponse with a list of all posts
+     */
+    @GetMapping
+    public Mono<ResponseEntity<ApiResponse<List<Post>>>> getAllPosts() {
+        logger.info("Received reactive request to get all posts");
+        return reactiveJsonPlaceholderService.getAllPosts()
+                .collectList()
+                .map(posts -> ResponseEntity.ok(ApiResponse.success(posts)))
+                .onErrorResume(e -> error("Failed to retrieve posts", e));
+    }
+
+    /**
+     * Retrieves several posts by their IDs in one request, e.g. {@code GET /api/reactive/posts?ids=1,5,9}.
+     *
+     * @param ids The IDs of the posts to retrieve
+     * @return A Mono emitting a ResponseEntity containing an ApiResponse with the posts found, in the order of the
+     *         requested IDs
+     */
+    @GetMapping(params = "ids")
+    public Mono<ResponseEntity<ApiResponse<List<Post>>>> getPostsByIds(@RequestParam List<Long> ids) {
+        logger.info("Received reactive request to get {} posts by ID", ids.size());
+        if (ids.size() > MAX_BATCH_SIZE) {
+            return Mono.just(ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("At most " + MAX_BATCH_SIZE + " IDs can be requested at once")));
+        }
+        return reactiveJsonPlaceholderService.getPostsByIds(ids)
+                .collectList()
+                .map(posts -> ResponseEntity.ok(ApiResponse.success(posts)))
+                .onErrorResume(e -> error("Failed to retrieve posts", e));
+    }
+
+    /**
+     * Retrieves a specific post by its ID.
+     *
+     * @param id The ID of the post to retrieve
+     * @return A Mono emitting a ResponseEntity containing an ApiResponse with the requested post
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<ApiResponse<Post>>> getPostById(@PathVariable Long id) {
+        logger.info("Received reactive request to get post with ID: {}", id);
+        return reactiveJsonPlaceholderService.getPostById(id)
+                .map(post -> ResponseEntity.ok(ApiResponse.success(post)))
+                .defaultIfEmpty(ResponseEntity
+                        .status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("Post not found with ID: " + id)))
+                .onErrorResume(e -> error("Failed to retrieve post", e));
+    }
+
+    /**
+     * Retrieves posts by user ID.
+     *
+     * @param userId The ID of the user whose posts to retrieve
+     * @return A Mono emitting a ResponseEntity containing an ApiResponse with the posts by the specified user
+     */
+    @GetMapping("/user/{userId}")
+    public Mono<ResponseEntity<ApiResponse<List<Post>>>> getPostsByUserId(@PathVariable Long userId) {
+        logger.info("Received reactive request to get posts for user with ID: {}", userId);
+        return reactiveJsonPlaceholderService.getPostsByUserId(userId)
+                .collectList()
+                .map(posts -> ResponseEntity.ok(ApiResponse.success(posts)))
+                .onErrorResume(e -> error("Failed to retrieve posts for user", e));
+    }
+
+    private static <T> Mono<ResponseEntity<ApiResponse<T>>> error(String message, Throwable e) {
+        logger.error(message, e);
+        return Mono.just(ResponseEntity
+                .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error(message + ": " + e.getMessage())));
+    }
+}
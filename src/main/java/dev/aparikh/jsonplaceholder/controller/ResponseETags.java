@@ -0,0 +1,73 @@
+package dev.aparikh.jsonplaceholder.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.aparikh.jsonplaceholder.model.RawResponse;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Computes strong ETags for the data returned by the read endpoints.
+ * <p>
+ * The tag is derived from the JSON form of the data, so it changes exactly when the response body changes; for a
+ * {@link RawResponse} the upstream bytes are hashed directly, without serializing anything.
+ * Tags are remembered per data instance (by identity, held weakly): values served from the post snapshot or
+ * an in-process cache are the same instance on every request, so their tag is computed once per snapshot
+ * rather than once per request. Values that are rebuilt on every request (for example ones read from Redis
+ * without a near cache) are hashed on each request.
+ */
+@Component
+public class ResponseETags {
+
+    private static final long MAX_TRACKED_VALUES = 10_000;
+    private static final int TAG_BYTES = 16;
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Object, String> tags = Caffeine.newBuilder()
+            .weakKeys()
+            .maximumSize(MAX_TRACKED_VALUES)
+            .build();
+
+    public ResponseETags(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns the strong ETag for a response's data.
+     *
+     * @param data The data wrapped in the response
+     * @return The quoted ETag, e.g. {@code "3f2a..."}
+     */
+    public String of(Object data) {
+        if (data == null) {
+            return quote(hash(new byte[0]));
+        }
+        return tags.get(data, value -> quote(hash(value instanceof RawResponse raw ? raw.body() : serialize(value))));
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not compute ETag", e);
+        }
+    }
+
+    private static String hash(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return HexFormat.of().formatHex(digest, 0, TAG_BYTES);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String quote(String tag) {
+        return "\"" + tag + "\"";
+    }
+}
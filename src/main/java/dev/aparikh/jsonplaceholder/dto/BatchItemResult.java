@@ -0,0 +1,43 @@
+package dev.aparikh.jsonplaceholder.dto;
+
+/**
+ * The outcome of fetching one resource of a batch request.
+ */
+public class BatchItemResult {
+    private final String path;
+    private final String status;
+    private final Object data;
+    private final String message;
+
+    private BatchItemResult(String path, String status, Object data, String message) {
+        this.path = path;
+        this.status = status;
+        this.data = data;
+        this.message = message;
+    }
+
+    public static BatchItemResult success(String path, Object data) {
+        return new BatchItemResult(path, "success", data, null);
+    }
+
+    public static BatchItemResult error(String path, String message) {
+        return new BatchItemResult(path, "error", null, message);
+    }
+
+    // Getters
+    public String getPath() {
+        return path;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Object getData() {
+        return data;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,14 @@
+package dev.aparikh.jsonplaceholder.model;
+
+import java.io.Serializable;
+
+/**
+ * An upstream response body kept as received, with the headers needed to relay it.
+ *
+ * @param body The response body bytes
+ * @param contentType The upstream {@code Content-Type}, or null if absent
+ * @param eTag The upstream {@code ETag}, or null if absent
+ * @param lastModified The upstream {@code Last-Modified}, or null if absent
+ */
+public record RawResponse(byte[] body, String contentType, String eTag, String lastModified) implements Serializable {
+}
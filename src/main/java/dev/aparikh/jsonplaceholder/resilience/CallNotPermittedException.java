@@ -0,0 +1,25 @@
+package dev.aparikh.jsonplaceholder.resilience;
+
+/**
+ * Thrown when a call is refused before reaching the protected resource, because its circuit breaker is open,
+ * its bulkhead is full or its rate limit is exhausted.
+ */
+public class CallNotPermittedException extends RuntimeException {
+
+    private final String reason;
+
+    /**
+     * Creates an exception.
+     *
+     * @param reason Why the call was refused, e.g. {@code circuit_open}
+     * @param message The detail message
+     */
+    public CallNotPermittedException(String reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+}
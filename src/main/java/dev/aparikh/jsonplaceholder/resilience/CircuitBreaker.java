@@ -0,0 +1,288 @@
+package dev.aparikh.jsonplaceholder.resilience;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Count-based circuit breaker.
+ * <p>
+ * The outcomes of the last {@code slidingWindowSize} calls are recorded while the breaker is closed. Once at least
+ * {@code minimumCalls} outcomes are recorded and the failure rate reaches the threshold, the breaker opens and
+ * callers are refused without touching the protected resource. After the open duration the breaker half-opens:
+ * either a background probe (see {@link #startProbing(Callable)}) or a single trial call decides whether it closes
+ * again or stays open for another period.
+ * <p>
+ * Listeners are notified of every state change on the thread that caused it, outside the breaker's lock.
+ */
+public class CircuitBreaker implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    /**
+     * Circuit breaker states
+     */
+    public enum State {
+        /** Calls are permitted and their outcomes recorded */
+        CLOSED,
+        /** Calls are refused */
+        OPEN,
+        /** A single trial call or probe decides the next state */
+        HALF_OPEN
+    }
+
+    /**
+     * Published whenever a circuit breaker changes state.
+     *
+     * @param name The name of the circuit breaker
+     * @param from The previous state
+     * @param to The new state
+     */
+    public record StateChangedEvent(String name, State from, State to) {
+    }
+
+    private final String name;
+    private final int slidingWindowSize;
+    private final int minimumCalls;
+    private final float failureRateThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+    private final List<Consumer<StateChangedEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    private final boolean[] failures;
+    private int nextSlot;
+    private int recordedCalls;
+    private int failedCalls;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private volatile ScheduledExecutorService prober;
+
+    /**
+     * Creates a circuit breaker.
+     *
+     * @param name The name used in logs, metrics and events
+     * @param slidingWindowSize The number of most recent calls the failure rate is computed over
+     * @param minimumCalls The number of recorded calls required before the breaker can open
+     * @param failureRateThreshold The failure rate in percent at which the breaker opens
+     * @param openDuration How long the breaker stays open before it half-opens
+     */
+    public CircuitBreaker(String name, int slidingWindowSize, int minimumCalls,
+                          float failureRateThreshold, Duration openDuration) {
+        this(name, slidingWindowSize, minimumCalls, failureRateThreshold, openDuration, Clock.systemUTC());
+    }
+
+    CircuitBreaker(String name, int slidingWindowSize, int minimumCalls,
+                   float failureRateThreshold, Duration openDuration, Clock clock) {
+        this.name = name;
+        this.slidingWindowSize = slidingWindowSize;
+        this.minimumCalls = Math.min(minimumCalls, slidingWindowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+        this.failures = new boolean[slidingWindowSize];
+    }
+
+    /**
+     * Checks whether a call may go to the protected resource.
+     * When no background probe is running, the first call after the open duration is let through as a trial.
+     *
+     * @return true if the call is permitted
+     */
+    public boolean tryAcquirePermission() {
+        StateChangedEvent event;
+        synchronized (this) {
+            if (state == State.CLOSED) {
+                return true;
+            }
+            if (state == State.HALF_OPEN || prober != null
+                    || clock.millis() - openedAt < openDuration.toMillis()) {
+                return false;
+            }
+            event = transitionTo(State.HALF_OPEN);
+        }
+        publish(event);
+        return true;
+    }
+
+    /**
+     * Records a successful call.
+     */
+    public void onSuccess() {
+        StateChangedEvent event = null;
+        synchronized (this) {
+            if (state == State.HALF_OPEN) {
+                event = transitionTo(State.CLOSED);
+            } else if (state == State.CLOSED && record(false)) {
+                event = transitionTo(State.OPEN);
+            }
+        }
+        publish(event);
+    }
+
+    /**
+     * Records a failed call.
+     */
+    public void onError() {
+        StateChangedEvent event = null;
+        synchronized (this) {
+            if (state == State.HALF_OPEN) {
+                event = transitionTo(State.OPEN);
+            } else if (state == State.CLOSED && record(true)) {
+                event = transitionTo(State.OPEN);
+            }
+        }
+        publish(event);
+    }
+
+    /**
+     * Gives back a permission whose call ended without an outcome, e.g. because the caller cancelled it.
+     * Nothing is recorded while the breaker is closed; a cancelled trial call counts as failed, so the breaker
+     * does not stay half-open without a call to decide its next state.
+     */
+    public void onCancelled() {
+        StateChangedEvent event = null;
+        synchronized (this) {
+            if (state == State.HALF_OPEN && prober == null) {
+                event = transitionTo(State.OPEN);
+            }
+        }
+        publish(event);
+    }
+
+    /**
+     * Opens the breaker regardless of the recorded outcomes.
+     */
+    public void forceOpen() {
+        StateChangedEvent event = null;
+        synchronized (this) {
+            if (state != State.OPEN) {
+                event = transitionTo(State.OPEN);
+            }
+        }
+        publish(event);
+    }
+
+    /**
+     * Starts checking the protected resource in the background while the breaker is open.
+     * Every open duration the probe is run in the half-open state; the breaker closes if it completes normally
+     * and reopens if it throws. While probing is active, callers never get trial calls.
+     *
+     * @param probe Checks the protected resource, throwing if it is unavailable
+     */
+    public void startProbing(Callable<?> probe) {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name + "-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        prober = executor;
+        long period = openDuration.toMillis();
+        executor.scheduleWithFixedDelay(() -> probe(probe), period, period, TimeUnit.MILLISECONDS);
+    }
+
+    void probe(Callable<?> probe) {
+        StateChangedEvent event;
+        synchronized (this) {
+            if (state != State.OPEN) {
+                return;
+            }
+            event = transitionTo(State.HALF_OPEN);
+        }
+        publish(event);
+
+        try {
+            probe.call();
+            onSuccess();
+        } catch (Exception e) {
+            logger.debug("Circuit breaker '{}' probe failed: {}", name, e.getMessage());
+            onError();
+        }
+    }
+
+    /**
+     * Registers a listener for state changes.
+     *
+     * @param listener Receives an event for every state change
+     */
+    public void addListener(Consumer<StateChangedEvent> listener) {
+        listeners.add(listener);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    @Override
+    public void close() {
+        ScheduledExecutorService executor = prober;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Records an outcome in the sliding window.
+     *
+     * @return true if the failure rate now calls for the breaker to open
+     */
+    private boolean record(boolean failed) {
+        if (recordedCalls == slidingWindowSize) {
+            if (failures[nextSlot]) {
+                failedCalls--;
+            }
+        } else {
+            recordedCalls++;
+        }
+        failures[nextSlot] = failed;
+        if (failed) {
+            failedCalls++;
+        }
+        nextSlot = (nextSlot + 1) % slidingWindowSize;
+        return recordedCalls >= minimumCalls && failedCalls * 100f / recordedCalls >= failureRateThreshold;
+    }
+
+    private StateChangedEvent transitionTo(State newState) {
+        StateChangedEvent event = new StateChangedEvent(name, state, newState);
+        state = newState;
+        if (newState == State.OPEN) {
+            openedAt = clock.millis();
+        }
+        if (newState == State.CLOSED) {
+            nextSlot = 0;
+            recordedCalls = 0;
+            failedCalls = 0;
+        }
+        return event;
+    }
+
+    private void publish(StateChangedEvent event) {
+        if (event == null) {
+            return;
+        }
+        if (event.to() == State.OPEN) {
+            logger.warn("Circuit breaker '{}' changed from {} to {}", name, event.from(), event.to());
+        } else {
+            logger.info("Circuit breaker '{}' changed from {} to {}", name, event.from(), event.to());
+        }
+        for (Consumer<StateChangedEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (RuntimeException e) {
+                logger.warn("Circuit breaker '{}' listener failed: {}", name, e.getMessage());
+            }
+        }
+    }
+}
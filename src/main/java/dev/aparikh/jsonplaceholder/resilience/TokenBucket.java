@@ -0,0 +1,98 @@
+package dev.aparikh.jsonplaceholder.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token-bucket rate limiter.
+ * <p>
+ * The bucket holds up to {@code capacity} tokens and is refilled continuously at {@code permitsPerSecond}; every
+ * call takes one token, so bursts up to the capacity pass immediately and the sustained rate is bounded by the
+ * refill rate. A caller that finds the bucket empty may reserve the next token if it becomes available within its
+ * timeout, and then waits for it; later callers queue behind that reservation.
+ */
+public class TokenBucket {
+
+    private final long capacity;
+    private final double tokensPerNano;
+    private final LongSupplier nanoTime;
+
+    private double tokens;
+    private long refilledAt;
+
+    /**
+     * Creates a full token bucket.
+     *
+     * @param permitsPerSecond The refill rate
+     * @param capacity The maximum number of tokens, i.e. the largest burst
+     */
+    public TokenBucket(double permitsPerSecond, long capacity) {
+        this(permitsPerSecond, capacity, System::nanoTime);
+    }
+
+    TokenBucket(double permitsPerSecond, long capacity, LongSupplier nanoTime) {
+        if (permitsPerSecond <= 0 || capacity < 1) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive and capacity at least 1");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.nanoTime = nanoTime;
+        this.tokens = capacity;
+        this.refilledAt = nanoTime.getAsLong();
+    }
+
+    /**
+     * Takes a token, waiting at most {@code timeout} for one to become available.
+     *
+     * @param timeout The maximum time to wait
+     * @return true if a token was taken, false if none becomes available within the timeout
+     * @throws InterruptedException If interrupted while waiting for a reserved token
+     */
+    public boolean tryAcquire(Duration timeout) throws InterruptedException {
+        long waitNanos = reserve(timeout.toNanos());
+        if (waitNanos < 0) {
+            return false;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+        return true;
+    }
+
+    /**
+     * Reserves a token without waiting for it, for callers that must not block.
+     *
+     * @param timeoutNanos The maximum time the caller is willing to wait
+     * @return How long the caller must wait before using the token, or -1 if no token was reserved
+     */
+    public synchronized long reserve(long timeoutNanos) {
+        refill();
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        long waitNanos = (long) Math.ceil((1 - tokens) / tokensPerNano);
+        if (waitNanos > timeoutNanos) {
+            return -1;
+        }
+        tokens -= 1;
+        return waitNanos;
+    }
+
+    /**
+     * Returns the number of tokens currently available; negative while reservations are waiting.
+     *
+     * @return The available tokens
+     */
+    public synchronized double availableTokens() {
+        refill();
+        return tokens;
+    }
+
+    private void refill() {
+        long now = nanoTime.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+    }
+}
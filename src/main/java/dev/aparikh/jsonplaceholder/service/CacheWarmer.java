@@ -0,0 +1,146 @@
+package dev.aparikh.jsonplaceholder.service;
+
+import dev.aparikh.jsonplaceholder.cache.MultiKeyCache;
+import dev.aparikh.jsonplaceholder.config.CacheConfig;
+import dev.aparikh.jsonplaceholder.model.Post;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fills the caches before the application starts taking traffic.
+ * <p>
+ * The complete post list is fetched once and used to fill the {@code posts} cache (the list itself and every
+ * post by ID), the {@code postsByUser} cache and the post snapshot; entries are written in batches, which Redis
+ * caches send as one pipeline. Configured additional resources are prefetched in parallel into the
+ * {@code apiData} cache.
+ * <p>
+ * Spring Boot only marks the application ready once all application runners have returned, so readiness stays
+ * down until warm-up has finished or its time budget has run out. Warm-up failures are logged and never prevent
+ * startup.
+ */
+@Component
+@ConditionalOnProperty(prefix = "cache.warm-up", name = "enabled", havingValue = "true")
+public class CacheWarmer implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheWarmer.class);
+    private static final int MAX_THREADS = 4;
+
+    private final JsonPlaceholderService jsonPlaceholderService;
+    private final CacheManager cacheManager;
+    private final CacheConfig.CacheProperties.WarmUp settings;
+
+    public CacheWarmer(JsonPlaceholderService jsonPlaceholderService, CacheManager cacheManager,
+                       CacheConfig.CacheProperties cacheProperties) {
+        this.jsonPlaceholderService = jsonPlaceholderService;
+        this.cacheManager = cacheManager;
+        this.settings = cacheProperties.getWarmUp();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        warmUp();
+    }
+
+    /**
+     * Runs the warm-up and waits for it to finish, at most for the configured time budget.
+     *
+     * @return true if every warm-up task finished within the budget
+     */
+    public boolean warmUp() {
+        long start = System.nanoTime();
+        List<String> resources = settings.getResources();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(MAX_THREADS, resources.size() + 1),
+                threadFactory());
+
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        tasks.add(CompletableFuture.runAsync(this::warmUpPosts, executor));
+        for (String resource : resources) {
+            tasks.add(CompletableFuture.runAsync(() -> warmUpResource(resource), executor));
+        }
+
+        try {
+            CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new))
+                    .get(settings.getTimeBudget().toMillis(), TimeUnit.MILLISECONDS);
+            logger.info("Cache warm-up finished in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return true;
+        } catch (TimeoutException e) {
+            logger.warn("Cache warm-up did not finish within {}, continuing startup", settings.getTimeBudget());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            logger.warn("Cache warm-up failed: {}", e.getCause().getMessage());
+            return false;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void warmUpPosts() {
+        List<Post> posts = jsonPlaceholderService.getAllPosts();
+        if (posts == null) {
+            return;
+        }
+        Map<Object, Object> byId = new HashMap<>();
+        Map<Object, List<Post>> byUser = new HashMap<>();
+        for (Post post : posts) {
+            if (post.getId() != null) {
+                // The shape @Cacheable stores for getPostById: Optional results are cached unwrapped
+                byId.put(post.getId(), post);
+            }
+            if (post.getUserId() != null) {
+                byUser.computeIfAbsent(post.getUserId(), userId -> new ArrayList<>()).add(post);
+            }
+        }
+
+        putAll("posts", byId);
+        putAll("postsByUser", byUser);
+        logger.info("Warmed up {} posts for {} users", byId.size(), byUser.size());
+    }
+
+    private void warmUpResource(String resource) {
+        try {
+            // Same lookup as the /generic/{path} endpoint, so the warmed entry is the one it reads
+            jsonPlaceholderService.getForObject(resource, Object.class);
+            logger.debug("Warmed up {}", resource);
+        } catch (Exception e) {
+            logger.warn("Could not warm up {}: {}", resource, e.getMessage());
+        }
+    }
+
+    private void putAll(String cacheName, Map<?, ?> entries) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            MultiKeyCache.putAll(cache, entries);
+        }
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "cache-warm-up-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
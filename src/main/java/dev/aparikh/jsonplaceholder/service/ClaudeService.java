@@ -1,12 +1,13 @@
 package dev.aparikh.jsonplaceholder.service;
 
+import dev.aparikh.jsonplaceholder.cache.ClaudeCompletionCache;
 import dev.aparikh.jsonplaceholder.config.ClaudeConfig;
 import dev.aparikh.jsonplaceholder.dto.claude.ClaudeRequest;
 import dev.aparikh.jsonplaceholder.dto.claude.ClaudeResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
@@ -26,11 +27,20 @@ public class ClaudeService {
     
     private final WebClient claudeWebClient;
     private final ClaudeConfig.ClaudeProperties claudeProperties;
+    private final ClaudeCompletionCache completionCache;
     
     public ClaudeService(@Qualifier("claudeWebClient") WebClient claudeWebClient,
                          ClaudeConfig.ClaudeProperties claudeProperties) {
+        this(claudeWebClient, claudeProperties, null);
+    }
+    
+    @Autowired
+    public ClaudeService(@Qualifier("claudeWebClient") WebClient claudeWebClient,
+                         ClaudeConfig.ClaudeProperties claudeProperties,
+                         ClaudeCompletionCache completionCache) {
         this.claudeWebClient = claudeWebClient;
         this.claudeProperties = claudeProperties;
+        this.completionCache = completionCache;
     }
     
     /**
@@ -44,25 +54,21 @@ public class ClaudeService {
      * Send a text completion request to Claude with system prompt
      */
     public Mono<String> complete(String prompt, String systemPrompt) {
-        ClaudeRequest request = ClaudeRequest.builder()
-                .model(claudeProperties.getDefaultModel())
-                .maxTokens(claudeProperties.getDefaultMaxTokens())
-                .temperature(claudeProperties.getDefaultTemperature())
-                .messages(List.of(new ClaudeRequest.Message("user", prompt)))
-                .system(systemPrompt)
-                .build();
-        
-        return sendRequest(request)
+        return sendRequest(completionRequest(prompt, systemPrompt))
                 .map(ClaudeResponse::getFirstTextContent);
     }
     
     /**
-     * Send a cached completion request (useful for expensive operations)
+     * Send a cached completion request (useful for expensive operations).
+     * The completion text is cached under a hash of the full request, so identical requests
+     * are answered without calling the API again.
      */
-    @Cacheable(value = "claude-completions", key = "#prompt.hashCode()")
     public Mono<String> completeCached(String prompt) {
-        logger.info("Cache miss for prompt hash: {}", prompt.hashCode());
-        return complete(prompt);
+        ClaudeRequest request = completionRequest(prompt, null);
+        if (completionCache == null) {
+            return sendRequest(request).map(ClaudeResponse::getFirstTextContent);
+        }
+        return completionCache.get(request, () -> sendRequest(request).map(ClaudeResponse::getFirstTextContent));
     }
     
     /**
@@ -139,6 +145,19 @@ public class ClaudeService {
                 .map(ClaudeResponse::getFirstTextContent);
     }
     
+    /**
+     * Build a single-turn completion request with the default model settings
+     */
+    private ClaudeRequest completionRequest(String prompt, String systemPrompt) {
+        return ClaudeRequest.builder()
+                .model(claudeProperties.getDefaultModel())
+                .maxTokens(claudeProperties.getDefaultMaxTokens())
+                .temperature(claudeProperties.getDefaultTemperature())
+                .messages(List.of(new ClaudeRequest.Message("user", prompt)))
+                .system(systemPrompt)
+                .build();
+    }
+    
     /**
      * Check if an exception is retryable
      */
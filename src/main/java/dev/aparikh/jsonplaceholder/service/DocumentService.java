@@ -22,6 +22,7 @@ import org.jsoup.select.Elements;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayInputStream;
@@ -29,20 +30,29 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
 
 /**
  * Service for document generation and conversion.
+ * Conversions are CPU- and memory-heavy, so at most {@code documents.max-concurrent-conversions} run at once
+ * (by default one per processor); further requests wait. With virtual threads the servlet thread pool no longer
+ * limits how many run in parallel, so this bound keeps a burst of requests from oversubscribing the CPU and heap.
  */
 @Service
 public class DocumentService {
 
     private static final Logger logger = LoggerFactory.getLogger(DocumentService.class);
     private final TemplateEngine templateEngine;
+    private final Semaphore conversionPermits;
 
     @Autowired
-    public DocumentService(TemplateEngine templateEngine) {
+    public DocumentService(TemplateEngine templateEngine,
+                           @Value("${documents.max-concurrent-conversions:0}") int maxConcurrentConversions) {
         this.templateEngine = templateEngine;
+        this.conversionPermits = new Semaphore(maxConcurrentConversions > 0
+                ? maxConcurrentConversions
+                : Runtime.getRuntime().availableProcessors(), true);
     }
 
     /**
@@ -272,11 +282,16 @@ public class DocumentService {
      */
     public byte[] convertHtmlToFormat(String html, String format) {
         logger.info("Converting HTML to format: {}", format);
-        return switch (format.toLowerCase()) {
-            case "pdf" -> convertHtmlToPdf(html);
-            case "docx" -> convertHtmlToDocx(html);
-            case "rtf" -> convertHtmlToRtf(html);
-            default -> throw new IllegalArgumentException("Unsupported format: " + format);
-        };
+        conversionPermits.acquireUninterruptibly();
+        try {
+            return switch (format.toLowerCase()) {
+                case "pdf" -> convertHtmlToPdf(html);
+                case "docx" -> convertHtmlToDocx(html);
+                case "rtf" -> convertHtmlToRtf(html);
+                default -> throw new IllegalArgumentException("Unsupported format: " + format);
+            };
+        } finally {
+            conversionPermits.release();
+        }
     }
 }
@@ -0,0 +1,124 @@
+package dev.aparikh.jsonplaceholder.service;
+
+import dev.aparikh.jsonplaceholder.dto.BatchItemResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Resolves several JSONPlaceholder resources for one client request.
+ * <p>
+ * Each distinct path is looked up through the cached {@link JsonPlaceholderService#getForObject(String, Class)},
+ * with at most {@code jsonplaceholder.fan-out.max-concurrency} upstream lookups of a batch in flight. The whole
+ * batch shares one deadline: lookups still running when it expires are reported as errors, so a single slow
+ * resource cannot hold the response. They are never interrupted but left to finish in the background: a lookup may
+ * be loading a cache entry that other requests are waiting for, and an interrupted Redis call would count against
+ * the Redis circuit breaker. Lookups that have not started by the deadline are not started at all. Failures are
+ * reported per item and never fail the batch.
+ */
+@Service
+public class FanOutService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FanOutService.class);
+
+    private final JsonPlaceholderService jsonPlaceholderService;
+    private final int maxConcurrency;
+    private final Duration deadline;
+
+    public FanOutService(JsonPlaceholderService jsonPlaceholderService,
+                         @Value("${jsonplaceholder.fan-out.max-concurrency:8}") int maxConcurrency,
+                         @Value("${jsonplaceholder.fan-out.deadline:5s}") Duration deadline) {
+        this.jsonPlaceholderService = jsonPlaceholderService;
+        this.maxConcurrency = maxConcurrency;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Fetches resources concurrently.
+     *
+     * @param paths The resource paths relative to the API base URL, e.g. {@code /users/1} or
+     *              {@code /comments?postId=1}
+     * @return One result per requested path, in request order
+     */
+    public List<BatchItemResult> fetchAll(List<String> paths) {
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        Semaphore permits = new Semaphore(maxConcurrency);
+        Map<String, Future<Object>> lookups = new LinkedHashMap<>();
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            for (String path : paths) {
+                if (isValidPath(path)) {
+                    lookups.computeIfAbsent(path, p -> executor.submit(() -> fetch(p, permits, deadlineNanos)));
+                }
+            }
+
+            List<BatchItemResult> results = new ArrayList<>(paths.size());
+            for (String path : paths) {
+                Future<Object> lookup = lookups.get(path);
+                results.add(lookup != null
+                        ? await(path, lookup, deadlineNanos)
+                        : BatchItemResult.error(path, "Invalid path: must be relative to the API, e.g. /users/1"));
+            }
+            return results;
+        } finally {
+            // Lets lookups that outlived the deadline finish without waiting for them
+            executor.shutdown();
+        }
+    }
+
+    private Object fetch(String path, Semaphore permits, long deadlineNanos) throws Exception {
+        if (!permits.tryAcquire(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+            throw new TimeoutException("Deadline exceeded before the request was sent");
+        }
+        try {
+            return jsonPlaceholderService.getForObject(path, Object.class);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private BatchItemResult await(String path, Future<Object> lookup, long deadlineNanos) {
+        try {
+            Object data = lookup.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return data != null
+                    ? BatchItemResult.success(path, data)
+                    : BatchItemResult.error(path, "No data found at path: " + path);
+        } catch (TimeoutException e) {
+            lookup.cancel(false);
+            logger.warn("Batch lookup of {} did not complete within {}", path, deadline);
+            return BatchItemResult.error(path, "Deadline of " + deadline.toMillis() + " ms exceeded");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            logger.error("Error fetching {} in batch", path, cause);
+            return BatchItemResult.error(path, cause instanceof TimeoutException
+                    ? "Deadline of " + deadline.toMillis() + " ms exceeded"
+                    : "Failed to retrieve data: " + cause.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            lookup.cancel(false);
+            return BatchItemResult.error(path, "Interrupted");
+        }
+    }
+
+    /**
+     * Accepts only paths on the API host: an absolute URL would make the client leave the base URL.
+     */
+    static boolean isValidPath(String path) {
+        return path != null && path.startsWith("/") && !path.startsWith("//") && !path.contains("://");
+    }
+}
@@ -1,17 +1,37 @@
 package dev.aparikh.jsonplaceholder.service;
 
+import dev.aparikh.jsonplaceholder.cache.ExpiringCache;
+import dev.aparikh.jsonplaceholder.cache.MultiKeyCache;
+import dev.aparikh.jsonplaceholder.config.CacheConfig;
 import dev.aparikh.jsonplaceholder.model.Post;
+import dev.aparikh.jsonplaceholder.model.RawResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.interceptor.SimpleKey;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.util.ObjectUtils;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClient;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 
 /**
  * Service class for interacting with the JSONPlaceholder API.
@@ -21,19 +41,52 @@ public class JsonPlaceholderService {
 
     private static final Logger logger = LoggerFactory.getLogger(JsonPlaceholderService.class);
     private final RestClient restClient;
+    private final PostStore postStore;
+    private final CacheManager cacheManager;
+    private final int batchConcurrency;
+    private final Duration postsTimeToLive;
 
     @Autowired
-    public JsonPlaceholderService(RestClient jsonPlaceholderRestClient) {
+    public JsonPlaceholderService(RestClient jsonPlaceholderRestClient, PostStore postStore, CacheManager cacheManager,
+                                  CacheConfig.CacheProperties cacheProperties,
+                                  @Value("${jsonplaceholder.batch.max-concurrency:8}") int batchConcurrency) {
         this.restClient = jsonPlaceholderRestClient;
+        this.postStore = postStore;
+        this.cacheManager = cacheManager;
+        this.batchConcurrency = batchConcurrency;
+        this.postsTimeToLive = cacheProperties.spec("posts").getHardTtl();
     }
 
     /**
      * Retrieves all posts from the JSONPlaceholder API.
+     * The list is read through the {@code posts} cache, and every read, hit or miss, keeps the indexed post snapshot
+     * used by the single-post and per-user lookups in step with the cached list: the snapshot is rebuilt when the
+     * cached list changes and expires together with its cache entry.
      *
      * @return A list of all posts
      */
-    @Cacheable(value = "posts")
     public List<Post> getAllPosts() {
+        Cache cache = cacheManager.getCache("posts");
+        List<Post> posts;
+        if (cache == null) {
+            posts = fetchAllPosts();
+        } else {
+            try {
+                posts = cache.get(SimpleKey.EMPTY, this::fetchAllPosts);
+            } catch (Cache.ValueRetrievalException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        if (posts != null) {
+            postStore.replace(posts, () -> {
+                Duration timeToLive = cache != null ? ExpiringCache.getTimeToLive(cache, SimpleKey.EMPTY) : null;
+                return timeToLive != null ? timeToLive : postsTimeToLive;
+            });
+        }
+        return posts;
+    }
+
+    private List<Post> fetchAllPosts() {
         logger.info("Fetching all posts from JSONPlaceholder API");
         try {
             return restClient.get()
@@ -49,12 +102,19 @@ public class JsonPlaceholderService {
 
     /**
      * Retrieves a specific post by its ID.
+     * Served from the post snapshot without a network call once the full post list has been loaded.
+     * A 404 from the API is cached as an empty result for the cache's negative TTL; any other failure is
+     * thrown and not cached.
      *
      * @param id The ID of the post to retrieve
      * @return An Optional containing the post if found, or empty if not found
      */
-    @Cacheable(value = "posts", key = "#id")
+    @Cacheable(value = "posts", key = "#id", condition = "!@postStore.isLoaded()", sync = true)
     public Optional<Post> getPostById(Long id) {
+        if (postStore.isLoaded()) {
+            return postStore.findById(id);
+        }
+
         logger.info("Fetching post with ID: {}", id);
         try {
             Post post = restClient.get()
@@ -62,20 +122,118 @@ public class JsonPlaceholderService {
                     .retrieve()
                     .body(Post.class);
             return Optional.ofNullable(post);
+        } catch (HttpClientErrorException.NotFound e) {
+            logger.info("Post with ID {} not found", id);
+            return Optional.empty();
         } catch (Exception e) {
             logger.error("Error fetching post with ID: {}", id, e);
-            return Optional.empty();
+            throw new RuntimeException("Failed to fetch post from external API", e);
+        }
+    }
+
+    /**
+     * Retrieves several posts by their IDs.
+     * Served from the post snapshot once the full post list has been loaded. Otherwise all IDs are looked up in the
+     * {@code posts} cache with one multi-key read, only the misses are fetched from the API (at most
+     * {@code jsonplaceholder.batch.max-concurrency} at a time) and the fetched posts are written back in one batch.
+     * As with {@link #getPostById(Long)}, a 404 means there is no post, while any other failure fails the whole
+     * batch; the posts fetched before it are still cached.
+     *
+     * @param ids The IDs of the posts to retrieve
+     * @return The posts found, in the order of the requested IDs; IDs without a post are skipped
+     * @throws RuntimeException If a post could not be fetched, naming the IDs that failed
+     */
+    public List<Post> getPostsByIds(List<Long> ids) {
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        if (postStore.isLoaded()) {
+            return distinctIds.stream()
+                    .map(postStore::findById)
+                    .flatMap(Optional::stream)
+                    .toList();
         }
+
+        Cache cache = cacheManager.getCache("posts");
+        Map<Object, Cache.ValueWrapper> cached = cache != null ? MultiKeyCache.getAll(cache, distinctIds) : Map.of();
+        List<Long> misses = distinctIds.stream().filter(id -> !cached.containsKey(id)).toList();
+        Map<Long, Exception> failures = new ConcurrentHashMap<>();
+        Map<Long, Optional<Post>> fetched = fetchPosts(misses, failures);
+        if (cache != null && !fetched.isEmpty()) {
+            // Same shape as getPostById: @Cacheable stores the post itself, or null when there is none
+            Map<Long, Post> entries = new HashMap<>();
+            fetched.forEach((id, post) -> entries.put(id, post.orElse(null)));
+            MultiKeyCache.putAll(cache, entries);
+        }
+        if (!failures.isEmpty()) {
+            List<Long> failedIds = misses.stream().filter(failures::containsKey).toList();
+            RuntimeException failure = new RuntimeException(
+                    "Failed to fetch posts with IDs " + failedIds + " from external API", failures.get(failedIds.get(0)));
+            failedIds.stream().skip(1).map(failures::get).forEach(failure::addSuppressed);
+            throw failure;
+        }
+
+        List<Post> posts = new ArrayList<>(distinctIds.size());
+        for (Long id : distinctIds) {
+            Cache.ValueWrapper wrapper = cached.get(id);
+            Object value = wrapper != null ? wrapper.get() : fetched.get(id);
+            if (ObjectUtils.unwrapOptional(value) instanceof Post post) {
+                posts.add(post);
+            }
+        }
+        return posts;
+    }
+
+    /**
+     * Fetches posts from the API in parallel, with at most {@code batchConcurrency} requests in flight.
+     *
+     * @param failures Receives the error of each post that could not be fetched
+     * @return The fetched posts by ID, empty for posts the API does not know; posts that could not be fetched
+     *         because of an error are absent, so they are not cached
+     */
+    private Map<Long, Optional<Post>> fetchPosts(List<Long> ids, Map<Long, Exception> failures) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        logger.info("Fetching {} posts by ID", ids.size());
+
+        Map<Long, Optional<Post>> fetched = new ConcurrentHashMap<>();
+        Semaphore permits = new Semaphore(batchConcurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Long id : ids) {
+                executor.execute(() -> {
+                    permits.acquireUninterruptibly();
+                    try {
+                        Post post = restClient.get()
+                                .uri("/posts/{id}", id)
+                                .retrieve()
+                                .body(Post.class);
+                        fetched.put(id, Optional.ofNullable(post));
+                    } catch (HttpClientErrorException.NotFound e) {
+                        fetched.put(id, Optional.empty());
+                    } catch (Exception e) {
+                        logger.error("Error fetching post with ID: {}", id, e);
+                        failures.put(id, e);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+        return fetched;
     }
 
     /**
      * Retrieves posts by user ID.
+     * Served from the post snapshot without a network call once the full post list has been loaded.
      *
      * @param userId The ID of the user whose posts to retrieve
      * @return A list of posts by the specified user
      */
-    @Cacheable(value = "postsByUser", key = "#userId")
+    @Cacheable(value = "postsByUser", key = "#userId", condition = "!@postStore.isLoaded()", sync = true)
     public List<Post> getPostsByUserId(Long userId) {
+        if (postStore.isLoaded()) {
+            return postStore.findByUserId(userId);
+        }
+
         logger.info("Fetching posts for user with ID: {}", userId);
         try {
             return restClient.get()
@@ -90,19 +248,27 @@ public class JsonPlaceholderService {
 
     /**
      * Generic method to fetch data from any endpoint with any return type.
+     * Like every generic fetch, a 404 is cached as a null result for the negative TTL of the {@code apiData}
+     * cache, while other failures are thrown and not cached. Entries are keyed by the expanded, normalized URI
+     * and the response type (see {@link dev.aparikh.jsonplaceholder.cache.CanonicalKeyGenerator}).
      *
      * @param endpoint The API endpoint to call
      * @param responseType The class of the expected response type
      * @param <T> The type parameter for the response
-     * @return The response body converted to the specified type
+     * @return The response body converted to the specified type, or null if the API responded with 404
      */
-    @Cacheable(value = "apiData", key = "{ #endpoint, #responseType }")
+    @Cacheable(value = "apiData", keyGenerator = "canonicalKeyGenerator", sync = true)
     public <T> T getForObject(String endpoint, Class<T> responseType) {
         logger.info("Fetching data from endpoint: {}", endpoint);
-        return restClient.get()
-                .uri(endpoint)
-                .retrieve()
-                .body(responseType);
+        try {
+            return restClient.get()
+                    .uri(endpoint)
+                    .retrieve()
+                    .body(responseType);
+        } catch (HttpClientErrorException.NotFound e) {
+            logger.info("Nothing found at endpoint: {}", endpoint);
+            return null;
+        }
     }
 
     /**
@@ -111,15 +277,20 @@ public class JsonPlaceholderService {
      * @param endpoint The API endpoint to call
      * @param responseType The ParameterizedTypeReference for the expected response type
      * @param <T> The type parameter for the response
-     * @return The response body converted to the specified type
+     * @return The response body converted to the specified type, or null if the API responded with 404
      */
-    @Cacheable(value = "apiData", key = "#endpoint")
+    @Cacheable(value = "apiData", keyGenerator = "canonicalKeyGenerator", sync = true)
     public <T> T getForObject(String endpoint, ParameterizedTypeReference<T> responseType) {
         logger.info("Fetching data from endpoint: {}", endpoint);
-        return restClient.get()
-                .uri(endpoint)
-                .retrieve()
-                .body(responseType);
+        try {
+            return restClient.get()
+                    .uri(endpoint)
+                    .retrieve()
+                    .body(responseType);
+        } catch (HttpClientErrorException.NotFound e) {
+            logger.info("Nothing found at endpoint: {}", endpoint);
+            return null;
+        }
     }
 
     /**
@@ -129,15 +300,20 @@ public class JsonPlaceholderService {
      * @param responseType The class of the expected response type
      * @param uriVariables The variables to expand in the URI template
      * @param <T> The type parameter for the response
-     * @return The response body converted to the specified type
+     * @return The response body converted to the specified type, or null if the API responded with 404
      */
-    @Cacheable(value = "apiData", key = "{ #endpoint, #responseType, #uriVariables }")
+    @Cacheable(value = "apiData", keyGenerator = "canonicalKeyGenerator", sync = true)
     public <T> T getForObject(String endpoint, Class<T> responseType, Map<String, Object> uriVariables) {
         logger.info("Fetching data from endpoint: {} with variables: {}", endpoint, uriVariables);
-        return restClient.get()
-                .uri(endpoint, uriVariables)
-                .retrieve()
-                .body(responseType);
+        try {
+            return restClient.get()
+                    .uri(endpoint, uriVariables)
+                    .retrieve()
+                    .body(responseType);
+        } catch (HttpClientErrorException.NotFound e) {
+            logger.info("Nothing found at endpoint: {} with variables: {}", endpoint, uriVariables);
+            return null;
+        }
     }
 
     /**
@@ -147,14 +323,52 @@ public class JsonPlaceholderService {
      * @param responseType The ParameterizedTypeReference for the expected response type
      * @param uriVariables The variables to expand in the URI template
      * @param <T> The type parameter for the response
-     * @return The response body converted to the specified type
+     * @return The response body converted to the specified type, or null if the API responded with 404
      */
-    @Cacheable(value = "apiData", key = "{ #endpoint, #uriVariables }")
+    @Cacheable(value = "apiData", keyGenerator = "canonicalKeyGenerator", sync = true)
     public <T> T getForObject(String endpoint, ParameterizedTypeReference<T> responseType, Map<String, Object> uriVariables) {
         logger.info("Fetching data from endpoint: {} with variables: {}", endpoint, uriVariables);
-        return restClient.get()
-                .uri(endpoint, uriVariables)
-                .retrieve()
-                .body(responseType);
+        try {
+            return restClient.get()
+                    .uri(endpoint, uriVariables)
+                    .retrieve()
+                    .body(responseType);
+        } catch (HttpClientErrorException.NotFound e) {
+            logger.info("Nothing found at endpoint: {} with variables: {}", endpoint, uriVariables);
+            return null;
+        }
+    }
+
+    /**
+     * Fetches the body of any endpoint as raw bytes, without decoding it.
+     * The bytes are cached in the {@code apiData} cache together with the upstream content type and validators,
+     * under the canonical key of the URI with {@link RawResponse} as the response type, so neither a miss nor a
+     * hit goes through Jackson. A 404 is cached as a null result for the negative TTL.
+     *
+     * @param endpoint The API endpoint to call
+     * @param uriVariables The variables to expand in the URI template
+     * @return The raw response, or null if the API responded with 404
+     */
+    @Cacheable(value = "apiData", sync = true,
+            key = "@canonicalKeyGenerator.key(#endpoint, T(dev.aparikh.jsonplaceholder.model.RawResponse), #uriVariables)")
+    public RawResponse getRaw(String endpoint, Map<String, Object> uriVariables) {
+        logger.info("Fetching raw data from endpoint: {} with variables: {}", endpoint, uriVariables);
+        try {
+            ResponseEntity<byte[]> response = restClient.get()
+                    .uri(endpoint, uriVariables)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .retrieve()
+                    .toEntity(byte[].class);
+            HttpHeaders headers = response.getHeaders();
+            MediaType contentType = headers.getContentType();
+            return new RawResponse(
+                    response.getBody() != null ? response.getBody() : new byte[0],
+                    contentType != null ? contentType.toString() : null,
+                    headers.getETag(),
+                    headers.getFirst(HttpHeaders.LAST_MODIFIED));
+        } catch (HttpClientErrorException.NotFound e) {
+            logger.info("Nothing found at endpoint: {} with variables: {}", endpoint, uriVariables);
+            return null;
+        }
     }
 }
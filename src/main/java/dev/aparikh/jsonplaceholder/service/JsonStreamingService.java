@@ -0,0 +1,200 @@
+package dev.aparikh.jsonplaceholder.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.aparikh.jsonplaceholder.model.ApiResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Relays JSONPlaceholder resources to the client without materializing them.
+ * <p>
+ * The upstream body is read as a Jackson token stream and each element of a top-level array is copied to the
+ * response, inside the {@link ApiResponse} envelope, as soon as it has been parsed. Only the element being copied
+ * and the parser and generator buffers are held in memory, so heap use per request does not grow with the size of
+ * the collection. Streamed responses are not cached.
+ * <p>
+ * The upstream response is opened before the body is returned, so it is closed either once the body has been
+ * written or, if the body never runs (the asynchronous request timed out, failed or the client went away first),
+ * when asynchronous processing of the current request completes.
+ */
+@Service
+public class JsonStreamingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JsonStreamingService.class);
+
+    private final RestClient restClient;
+    private final ObjectMapper objectMapper;
+    private final int flushEvery;
+
+    public JsonStreamingService(@Qualifier("jsonPlaceholderStreamingRestClient") RestClient restClient,
+                                ObjectMapper objectMapper,
+                                @Value("${jsonplaceholder.streaming.flush-every:100}") int flushEvery) {
+        this.restClient = restClient;
+        this.objectMapper = objectMapper;
+        this.flushEvery = Math.max(1, flushEvery);
+    }
+
+    /**
+     * Opens an upstream resource and returns a body that streams it to the client.
+     * The upstream status is checked before returning, so a missing resource can still be answered with a 404;
+     * the upstream connection stays open until the returned body has been written or the current request has
+     * completed.
+     *
+     * @param uri The URI template of the resource, relative to the API base URL
+     * @param uriVariables The URI variables
+     * @return The response body, or empty if the resource does not exist
+     */
+    public Optional<StreamingResponseBody> stream(String uri, Map<String, ?> uriVariables) {
+        logger.info("Streaming {} from JSONPlaceholder API", uri);
+        ClientHttpResponse response = restClient.get()
+                .uri(uri, uriVariables)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange((request, upstream) -> upstream, false);
+        try {
+            HttpStatusCode status = response.getStatusCode();
+            if (status.value() == HttpStatus.NOT_FOUND.value()) {
+                response.close();
+                return Optional.empty();
+            }
+            if (status.isError()) {
+                response.close();
+                throw new RuntimeException("JSONPlaceholder API responded with status " + status.value());
+            }
+        } catch (IOException e) {
+            response.close();
+            throw new UncheckedIOException(e);
+        }
+        UpstreamBody body = new UpstreamBody(uri, response);
+        closeOnCompletion(body);
+        return Optional.of(body);
+    }
+
+    /**
+     * Returns a body that writes an error response.
+     *
+     * @param message The error message
+     * @return The response body
+     */
+    public StreamingResponseBody error(String message) {
+        return out -> objectMapper.writeValue(out, ApiResponse.error(message));
+    }
+
+    /**
+     * Copies an upstream JSON document into a success envelope, element by element if it is an array.
+     * The output is flushed every {@code flushEvery} elements, so the client receives the collection while it is
+     * still being read.
+     *
+     * @param upstream The upstream JSON document
+     * @param out The response stream; left open
+     * @return The number of elements copied
+     * @throws IOException If reading or writing fails, or the upstream document is not valid JSON
+     */
+    long copy(InputStream upstream, OutputStream out) throws IOException {
+        JsonFactory jsonFactory = objectMapper.getFactory();
+        try (JsonParser parser = jsonFactory.createParser(upstream);
+             JsonGenerator generator = jsonFactory.createGenerator(out)
+                     .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            generator.writeStartObject();
+            generator.writeStringField("status", "success");
+            generator.writeFieldName("data");
+
+            long elements = 0;
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                generator.writeStartArray();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    generator.copyCurrentStructure(parser);
+                    if (++elements % flushEvery == 0) {
+                        generator.flush();
+                    }
+                }
+                generator.writeEndArray();
+            } else if (token != null) {
+                generator.copyCurrentStructure(parser);
+                elements = 1;
+            } else {
+                generator.writeNull();
+            }
+
+            generator.writeNullField("message");
+            generator.writeEndObject();
+            return elements;
+        }
+    }
+
+    /**
+     * Closes the upstream response when asynchronous processing of the current request completes, in case the
+     * body is never written. Outside a servlet request the caller is responsible for running the body.
+     */
+    private static void closeOnCompletion(UpstreamBody body) {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            WebAsyncUtils.getAsyncManager(attributes.getRequest()).registerCallableInterceptor(body,
+                    new CallableProcessingInterceptor() {
+                        @Override
+                        public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                            body.close();
+                        }
+                    });
+        }
+    }
+
+    /**
+     * Body that copies an open upstream response to the client and then closes it.
+     */
+    private final class UpstreamBody implements StreamingResponseBody {
+        private final String uri;
+        private final ClientHttpResponse response;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        UpstreamBody(String uri, ClientHttpResponse response) {
+            this.uri = uri;
+            this.response = response;
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            try (InputStream body = response.getBody()) {
+                long elements = copy(body, out);
+                logger.debug("Streamed {} elements from {}", elements, uri);
+            } finally {
+                close();
+            }
+        }
+
+        /**
+         * Closes the upstream response; only the first call has an effect.
+         */
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                response.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package dev.aparikh.jsonplaceholder.service;
+
+import dev.aparikh.jsonplaceholder.model.Post;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * In-memory, read-only view of the complete post list.
+ * Holds one immutable snapshot of all posts indexed by post ID and by user ID. A refresh builds a new
+ * snapshot and swaps it in atomically, so lookups never take a lock and never see a half-built index.
+ * <p>
+ * The snapshot mirrors the cached post list it was built from: it is rebuilt only when a different list instance
+ * is offered, and it expires together with that cache entry, after which lookups find nothing until the list is
+ * read again.
+ */
+@Component
+public class PostStore {
+
+    private final Clock clock;
+    private volatile Snapshot snapshot;
+
+    public PostStore() {
+        this(Clock.systemUTC());
+    }
+
+    PostStore(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Replaces the current snapshot with one built from the given posts, unless it was already built from this list.
+     *
+     * @param posts The complete list of posts, as read from the cache
+     * @param timeToLive Supplies the remaining time-to-live of the cache entry holding the list; only asked when
+     *                   the snapshot is rebuilt
+     */
+    public void replace(List<Post> posts, Supplier<Duration> timeToLive) {
+        Snapshot current = current();
+        if (current == null || current.source != posts) {
+            snapshot = new Snapshot(posts, clock.millis() + timeToLive.get().toMillis());
+        }
+    }
+
+    /**
+     * Discards the current snapshot.
+     */
+    public void clear() {
+        snapshot = null;
+    }
+
+    /**
+     * Checks whether a snapshot has been loaded.
+     *
+     * @return true if lookups can be served from the snapshot
+     */
+    public boolean isLoaded() {
+        return current() != null;
+    }
+
+    /**
+     * Returns all posts in the current snapshot.
+     *
+     * @return An unmodifiable list of all posts, or an empty list if no snapshot is loaded
+     */
+    public List<Post> findAll() {
+        Snapshot current = current();
+        return current != null ? current.posts : List.of();
+    }
+
+    /**
+     * Looks up a post by its ID.
+     *
+     * @param id The ID of the post
+     * @return An Optional containing the post if it is in the current snapshot
+     */
+    public Optional<Post> findById(long id) {
+        Snapshot current = current();
+        return current != null ? Optional.ofNullable(current.get(id)) : Optional.empty();
+    }
+
+    /**
+     * Looks up the posts written by a user.
+     *
+     * @param userId The ID of the user
+     * @return An unmodifiable list of the user's posts, empty if there are none
+     */
+    public List<Post> findByUserId(long userId) {
+        Snapshot current = current();
+        return current != null ? current.byUserId.getOrDefault(userId, List.of()) : List.of();
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        return current != null && clock.millis() < current.expiresAt ? current : null;
+    }
+
+    /**
+     * Immutable set of posts with an open-addressing long-to-post index, so ID lookups neither box
+     * the key nor chase hash map nodes.
+     */
+    private static final class Snapshot {
+        private final List<Post> source;
+        private final long expiresAt;
+        private final List<Post> posts;
+        private final long[] ids;
+        private final Post[] byId;
+        private final int mask;
+        private final Map<Long, List<Post>> byUserId;
+
+        Snapshot(List<Post> posts, long expiresAt) {
+            this.source = posts;
+            this.expiresAt = expiresAt;
+            this.posts = List.copyOf(posts);
+
+            // Keep the table at most half full so probe sequences stay short
+            int capacity = Integer.highestOneBit(Math.max(1, this.posts.size()) * 2 - 1) << 1;
+            this.ids = new long[capacity];
+            this.byId = new Post[capacity];
+            this.mask = capacity - 1;
+
+            Map<Long, List<Post>> grouped = new HashMap<>();
+            for (Post post : this.posts) {
+                if (post.getId() != null) {
+                    put(post.getId(), post);
+                }
+                if (post.getUserId() != null) {
+                    grouped.computeIfAbsent(post.getUserId(), userId -> new ArrayList<>()).add(post);
+                }
+            }
+
+            Map<Long, List<Post>> byUser = new HashMap<>();
+            grouped.forEach((userId, userPosts) -> byUser.put(userId, List.copyOf(userPosts)));
+            this.byUserId = Map.copyOf(byUser);
+        }
+
+        Post get(long id) {
+            for (int slot = slot(id); byId[slot] != null; slot = (slot + 1) & mask) {
+                if (ids[slot] == id) {
+                    return byId[slot];
+                }
+            }
+            return null;
+        }
+
+        private void put(long id, Post post) {
+            int slot = slot(id);
+            while (byId[slot] != null && ids[slot] != id) {
+                slot = (slot + 1) & mask;
+            }
+            ids[slot] = id;
+            byId[slot] = post;
+        }
+
+        private int slot(long id) {
+            long hash = id * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+}
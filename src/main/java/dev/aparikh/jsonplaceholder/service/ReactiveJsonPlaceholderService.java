@@ -0,0 +1,122 @@
+package dev.aparikh.jsonplaceholder.service;
+
+import dev.aparikh.jsonplaceholder.cache.ReactiveCache;
+import dev.aparikh.jsonplaceholder.model.Post;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Non-blocking variant of {@link JsonPlaceholderService} built on {@link WebClient}.
+ * <p>
+ * Nothing here blocks a thread: upstream calls complete on the Reactor Netty event loop and results are cached in
+ * a {@link ReactiveCache}. Like the blocking service, single-post and per-user lookups are served from the
+ * in-memory post snapshot once the full post list has been loaded, and every load of the full list refreshes
+ * that snapshot. A 404 completes empty and is cached for the negative TTL; other failures are propagated and
+ * not cached.
+ */
+@Service
+public class ReactiveJsonPlaceholderService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveJsonPlaceholderService.class);
+    private static final String ALL_POSTS_KEY = "all";
+
+    private final WebClient webClient;
+    private final PostStore postStore;
+    private final ReactiveCache cache;
+    private final int maxConcurrency;
+
+    public ReactiveJsonPlaceholderService(@Qualifier("jsonPlaceholderWebClient") WebClient webClient,
+                                          PostStore postStore, ReactiveCache reactivePostCache,
+                                          @Value("${jsonplaceholder.reactive.max-concurrency:64}") int maxConcurrency) {
+        this.webClient = webClient;
+        this.postStore = postStore;
+        this.cache = reactivePostCache;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Retrieves all posts.
+     *
+     * @return A Flux of all posts
+     */
+    public Flux<Post> getAllPosts() {
+        return cache.get(ALL_POSTS_KEY, () -> {
+                    logger.info("Fetching all posts from JSONPlaceholder API");
+                    return webClient.get()
+                            .uri("/posts")
+                            .retrieve()
+                            .bodyToFlux(Post.class)
+                            .collectList();
+                })
+                // Hits and loads alike keep the post snapshot in step with the cached list
+                .doOnNext(posts -> postStore.replace(posts, () -> {
+                    Duration timeToLive = cache.getTimeToLive(ALL_POSTS_KEY);
+                    return timeToLive != null ? timeToLive : Duration.ZERO;
+                }))
+                .flatMapIterable(posts -> posts);
+    }
+
+    /**
+     * Retrieves a specific post by its ID.
+     *
+     * @param id The ID of the post to retrieve
+     * @return A Mono emitting the post, or completing empty if there is no such post
+     */
+    public Mono<Post> getPostById(Long id) {
+        if (postStore.isLoaded()) {
+            return Mono.justOrEmpty(postStore.findById(id));
+        }
+        return cache.get(id, () -> {
+            logger.info("Fetching post with ID: {}", id);
+            return webClient.get()
+                    .uri("/posts/{id}", id)
+                    .retrieve()
+                    .bodyToMono(Post.class)
+                    .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty());
+        });
+    }
+
+    /**
+     * Retrieves several posts by their IDs, looking up at most {@code jsonplaceholder.reactive.max-concurrency}
+     * of them concurrently.
+     *
+     * @param ids The IDs of the posts to retrieve
+     * @return A Flux of the posts found, in the order of the requested IDs; IDs without a post are skipped
+     */
+    public Flux<Post> getPostsByIds(List<Long> ids) {
+        return Flux.fromIterable(ids)
+                .distinct()
+                .flatMapSequential(this::getPostById, maxConcurrency);
+    }
+
+    /**
+     * Retrieves posts by user ID.
+     *
+     * @param userId The ID of the user whose posts to retrieve
+     * @return A Flux of the posts by the specified user
+     */
+    public Flux<Post> getPostsByUserId(Long userId) {
+        if (postStore.isLoaded()) {
+            return Flux.fromIterable(postStore.findByUserId(userId));
+        }
+        return cache.get("user:" + userId, () -> {
+                    logger.info("Fetching posts for user with ID: {}", userId);
+                    return webClient.get()
+                            .uri("/posts?userId={userId}", userId)
+                            .retrieve()
+                            .bodyToFlux(Post.class)
+                            .collectList();
+                })
+                .flatMapIterable(posts -> posts);
+    }
+}
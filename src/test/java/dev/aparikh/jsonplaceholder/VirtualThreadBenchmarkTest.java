@@ -0,0 +1,174 @@
+package dev.aparikh.jsonplaceholder;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Load test of the running application with {@code spring.threads.virtual.enabled} off (Tomcat's pool of 200
+ * platform threads) and on.
+ * <p>
+ * The application is started on an embedded Tomcat with its real RestClient, pointed at a local upstream that
+ * answers every request after 100 ms. 1,000 concurrent clients each send 10 sequential requests for
+ * {@code /api/posts/generic/users/{id}} with ids that are never repeated, so every request misses the cache
+ * and makes one blocking upstream call. The upstream rate limit, bulkhead and connection pool are raised above
+ * the offered load so that only the request threads differ between the two runs; caches are in memory, so
+ * Redis is not needed. Each run is preceded by a warm-up round. Reports throughput and client-side latency
+ * percentiles. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class VirtualThreadBenchmarkTest {
+
+    private static final int CLIENTS = 1_000;
+    private static final int REQUESTS_PER_CLIENT = 10;
+    private static final long UPSTREAM_DELAY_MILLIS = 100;
+
+    private final AtomicLong nextId = new AtomicLong();
+    private HttpServer upstream;
+    private HttpClient client;
+
+    @BeforeEach
+    void startUpstream() throws Exception {
+        upstream = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4_096);
+        upstream.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        upstream.createContext("/users", exchange -> {
+            try {
+                Thread.sleep(UPSTREAM_DELAY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            String path = exchange.getRequestURI().getPath();
+            byte[] body = ("{\"id\":" + path.substring(path.lastIndexOf('/') + 1) + ",\"name\":\"Leanne Graham\"}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        upstream.start();
+
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @AfterEach
+    void stopUpstream() {
+        client.close();
+        upstream.stop(0);
+    }
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        Result platform = measure(false);
+        Result virtual = measure(true);
+
+        System.out.printf("%d clients x %d requests, upstream %d ms, %d processors%n",
+                CLIENTS, REQUESTS_PER_CLIENT, UPSTREAM_DELAY_MILLIS, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-28s %12s %10s %10s %10s %10s%n",
+                "request threads", "requests/s", "p50 ms", "p99 ms", "max ms", "errors");
+        platform.print("platform (Tomcat, 200)");
+        virtual.print("virtual");
+
+        assertEquals(0, platform.errors());
+        assertEquals(0, virtual.errors());
+    }
+
+    private Result measure(boolean virtualThreads) throws Exception {
+        String[] args = {
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--server.port=0",
+                "--spring.cache.type=simple",
+                "--cache.warm-up.enabled=false",
+                "--cache.snapshot.enabled=false",
+                "--management.health.redis.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.dev.aparikh.jsonplaceholder=WARN",
+                "--logging.level.org.springframework.web.reactive.function.client=WARN",
+                "--jsonplaceholder.http-client.base-url=http://127.0.0.1:" + upstream.getAddress().getPort(),
+                "--jsonplaceholder.http-client.http2=false",
+                "--jsonplaceholder.http-client.max-connections-per-route=" + 2 * CLIENTS,
+                "--jsonplaceholder.http-client.max-pending-acquires=" + 10 * CLIENTS,
+                "--jsonplaceholder.resilience.rate-limit=1000000",
+                "--jsonplaceholder.resilience.rate-limit-burst=1000000",
+                "--jsonplaceholder.resilience.max-concurrent-calls=" + 2 * CLIENTS
+        };
+        try (ConfigurableApplicationContext application =
+                     new SpringApplicationBuilder(JsonPlaceholderApplication.class).run(args)) {
+            String baseUrl = "http://127.0.0.1:" + application.getEnvironment().getProperty("local.server.port");
+            run(baseUrl);
+            return run(baseUrl);
+        }
+    }
+
+    /**
+     * Lets every client send its requests one after another and waits for all of them.
+     * A request's latency runs from sending it until its response has been read.
+     */
+    private Result run(String baseUrl) throws Exception {
+        long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+        AtomicInteger errors = new AtomicInteger();
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> done = new ArrayList<>(CLIENTS);
+            for (int c = 0; c < CLIENTS; c++) {
+                int offset = c * REQUESTS_PER_CLIENT;
+                done.add(clients.submit(() -> {
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        HttpRequest request = HttpRequest.newBuilder(
+                                URI.create(baseUrl + "/api/posts/generic/users/" + nextId.incrementAndGet())).build();
+                        long sent = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies[offset + i] = System.nanoTime() - sent;
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : done) {
+                future.get();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        Arrays.sort(latencies);
+        return new Result(latencies, elapsed, errors.get());
+    }
+
+    private record Result(long[] sortedLatencies, long elapsedNanos, int errors) {
+
+        double throughput() {
+            return sortedLatencies.length / (elapsedNanos / 1e9);
+        }
+
+        double percentile(double percentile) {
+            int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1e6;
+        }
+
+        void print(String name) {
+            System.out.printf("%-28s %12.0f %10.1f %10.1f %10.1f %10d%n", name, throughput(), percentile(0.50),
+                    percentile(0.99), sortedLatencies[sortedLatencies.length - 1] / 1e6, errors);
+        }
+    }
+}
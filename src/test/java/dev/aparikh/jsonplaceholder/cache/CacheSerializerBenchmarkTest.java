@@ -0,0 +1,62 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import dev.aparikh.jsonplaceholder.model.Post;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares encode/decode time and entry size of the Redis cache value serializers
+ * for the full post list. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class CacheSerializerBenchmarkTest {
+
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int MEASURED_ITERATIONS = 5_000;
+
+    @Test
+    void comparePostListSerializers() {
+        List<Post> posts = CompactCacheSerializerTest.samplePosts(100);
+
+        Map<String, RedisSerializer<Object>> serializers = new LinkedHashMap<>();
+        serializers.put("json (GenericJackson2Json)", new GenericJackson2JsonRedisSerializer());
+        serializers.put("compact, uncompressed", new CompactCacheSerializer(Integer.MAX_VALUE));
+        serializers.put("compact, lz4 >= 1KB", new CompactCacheSerializer(1024));
+
+        Map<String, Integer> sizes = new LinkedHashMap<>();
+        System.out.printf("%-28s %12s %14s %14s%n", "serializer", "bytes/entry", "encode ns/op", "decode ns/op");
+        for (Map.Entry<String, RedisSerializer<Object>> entry : serializers.entrySet()) {
+            RedisSerializer<Object> serializer = entry.getValue();
+            byte[] bytes = serializer.serialize(posts);
+
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                serializer.deserialize(serializer.serialize(posts));
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+                bytes = serializer.serialize(posts);
+            }
+            long encodeNanos = (System.nanoTime() - start) / MEASURED_ITERATIONS;
+
+            start = System.nanoTime();
+            for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+                serializer.deserialize(bytes);
+            }
+            long decodeNanos = (System.nanoTime() - start) / MEASURED_ITERATIONS;
+
+            sizes.put(entry.getKey(), bytes.length);
+            System.out.printf("%-28s %12d %14d %14d%n", entry.getKey(), bytes.length, encodeNanos, decodeNanos);
+        }
+
+        assertTrue(sizes.get("compact, lz4 >= 1KB") < sizes.get("json (GenericJackson2Json)"));
+    }
+}
@@ -0,0 +1,101 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CanonicalKeyGenerator
+ */
+class CanonicalKeyGeneratorTest {
+
+    private final CanonicalKeyGenerator keyGenerator = new CanonicalKeyGenerator(200);
+
+    @Test
+    void testQueryParameterOrderDoesNotChangeKey() {
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("postId", "1");
+        first.put("x", "2");
+        Map<String, Object> second = new LinkedHashMap<>();
+        second.put("x", "2");
+        second.put("postId", "1");
+
+        Object key1 = keyGenerator.generate(null, null, "/comments?postId={postId}&x={x}", Object.class, first);
+        Object key2 = keyGenerator.generate(null, null, "/comments?x={x}&postId={postId}", Object.class, second);
+        Object key3 = keyGenerator.generate(null, null, "/comments?x=2&postId=1", Object.class);
+
+        assertEquals("v1:java.lang.Object /comments?postId=1&x=2", key1);
+        assertEquals(key1, key2);
+        assertEquals(key1, key3);
+    }
+
+    @Test
+    void testPathIsNormalized() {
+        Object key1 = keyGenerator.generate(null, null, "/users/{id}/", Object.class, Map.of("id", "3"));
+        Object key2 = keyGenerator.generate(null, null, "/posts/../users/3", Object.class);
+
+        assertEquals("v1:java.lang.Object /users/3", key1);
+        assertEquals(key1, key2);
+    }
+
+    @Test
+    void testResponseTypeIsPartOfKey() {
+        Object asObject = keyGenerator.generate(null, null, "/users", Object.class);
+        Object asList = keyGenerator.generate(null, null, "/users",
+                new ParameterizedTypeReference<List<Map<String, Object>>>() {
+                });
+
+        assertNotEquals(asObject, asList);
+        assertEquals("v1:java.util.List<java.util.Map<java.lang.String, java.lang.Object>> /users", asList);
+    }
+
+    @Test
+    void testLongKeysAreHashedWithinBudget() {
+        String longValue = "a".repeat(500);
+        String key1 = (String) keyGenerator.generate(null, null, "/comments?q=" + longValue, Object.class);
+        String key2 = (String) keyGenerator.generate(null, null, "/comments?q=" + longValue + "b", Object.class);
+
+        assertEquals(200, key1.length());
+        assertTrue(key1.startsWith("v1:java.lang.Object /comments?q=aaa"));
+        assertNotEquals(key1, key2);
+    }
+
+    @Test
+    void testReservedCharactersInPathVariablesAreEncoded() {
+        Object query = keyGenerator.generate(null, null, "/users/{id}", Object.class, Map.of("id", "1?x=2"));
+        Object slash = keyGenerator.generate(null, null, "/users/{id}", Object.class, Map.of("id", "1/posts"));
+
+        assertEquals("v1:java.lang.Object /users/1%3Fx%3D2", query);
+        assertNotEquals(keyGenerator.generate(null, null, "/users/1?x=2", Object.class), query);
+        assertEquals("v1:java.lang.Object /users/1%2Fposts", slash);
+        assertNotEquals(keyGenerator.generate(null, null, "/users/1/posts", Object.class), slash);
+    }
+
+    @Test
+    void testReservedCharactersInQueryVariablesAreEncoded() {
+        Object ampersand = keyGenerator.generate(null, null, "/comments?postId={p}", Object.class,
+                Map.of("p", "1&x=2"));
+        Object slash = keyGenerator.generate(null, null, "/comments?postId={p}", Object.class,
+                Map.of("p", "1/2"));
+
+        assertEquals("v1:java.lang.Object /comments?postId=1%26x%3D2", ampersand);
+        assertNotEquals(keyGenerator.generate(null, null, "/comments?postId=1&x=2", Object.class), ampersand);
+        assertEquals("v1:java.lang.Object /comments?postId=1%2F2", slash);
+        assertNotEquals(keyGenerator.generate(null, null, "/comments?postId=1/2", Object.class), slash);
+    }
+
+    @Test
+    void testKeyMatchesUriSentByRestClient() {
+        Map<String, Object> variables = Map.of("id", "1?x=2/a b&c");
+        String sent = new DefaultUriBuilderFactory().expand("/users/{id}", variables).toString();
+
+        assertEquals("v1:java.lang.Object " + sent,
+                keyGenerator.generate(null, null, "/users/{id}", Object.class, variables));
+    }
+}
@@ -0,0 +1,98 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import dev.aparikh.jsonplaceholder.dto.claude.ClaudeRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ClaudeCompletionCache
+ */
+class ClaudeCompletionCacheTest {
+
+    private static final Duration TTL = Duration.ofHours(1);
+
+    @Test
+    void testRepeatedRequestCallsApiOnce() {
+        ClaudeCompletionCache cache = new ClaudeCompletionCache("claude-completions", null, TTL, 1024 * 1024, new SimpleMeterRegistry());
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(cache.get(request("Summarize this", 0.7), () -> Mono.fromSupplier(() -> "summary-" + calls.incrementAndGet())))
+                    .expectNext("summary-1")
+                    .verifyComplete();
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testKeyCoversWholeRequest() {
+        ClaudeCompletionCache cache = new ClaudeCompletionCache("claude-completions", null, TTL, 1024 * 1024, new SimpleMeterRegistry());
+
+        String key = cache.key(request("Summarize this", 0.7));
+
+        assertTrue(key.matches("claude-completions::v1:[0-9a-f]{64}"));
+        assertEquals(key, cache.key(request("Summarize this", 0.7)));
+        assertNotEquals(key, cache.key(request("Summarize this", 0.2)));
+        assertNotEquals(key, cache.key(request("Summarize that", 0.7)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testReadsAndWritesRedis() {
+        ReactiveStringRedisTemplate redisTemplate = mock(ReactiveStringRedisTemplate.class);
+        ReactiveValueOperations<String, String> ops = mock(ReactiveValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(ops);
+        ClaudeCompletionCache cache = new ClaudeCompletionCache("claude-completions", redisTemplate, TTL, 1024 * 1024, new SimpleMeterRegistry());
+        ClaudeRequest cachedRequest = request("cached", 0.7);
+        ClaudeRequest newRequest = request("new", 0.7);
+
+        when(ops.get(cache.key(cachedRequest))).thenReturn(Mono.just("from redis"));
+        when(ops.get(cache.key(newRequest))).thenReturn(Mono.empty());
+        when(ops.set(anyString(), anyString(), eq(TTL))).thenReturn(Mono.just(true));
+
+        StepVerifier.create(cache.get(cachedRequest, () -> Mono.error(new AssertionError("should not load"))))
+                .expectNext("from redis")
+                .verifyComplete();
+        StepVerifier.create(cache.get(newRequest, () -> Mono.just("from api")))
+                .expectNext("from api")
+                .verifyComplete();
+
+        verify(ops).set(cache.key(newRequest), "from api", TTL);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRedisFailureFallsBackToLoader() {
+        ReactiveStringRedisTemplate redisTemplate = mock(ReactiveStringRedisTemplate.class);
+        ReactiveValueOperations<String, String> ops = mock(ReactiveValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(ops);
+        when(ops.get(anyString())).thenReturn(Mono.error(new IllegalStateException("redis down")));
+        when(ops.set(anyString(), anyString(), eq(TTL))).thenReturn(Mono.error(new IllegalStateException("redis down")));
+        ClaudeCompletionCache cache = new ClaudeCompletionCache("claude-completions", redisTemplate, TTL, 1024 * 1024, new SimpleMeterRegistry());
+
+        StepVerifier.create(cache.get(request("prompt", 0.7), () -> Mono.just("from api")))
+                .expectNext("from api")
+                .verifyComplete();
+    }
+
+    private static ClaudeRequest request(String prompt, double temperature) {
+        return ClaudeRequest.builder()
+                .model("claude-3-5-sonnet-20241022")
+                .maxTokens(1000)
+                .temperature(temperature)
+                .messages(List.of(new ClaudeRequest.Message("user", prompt)))
+                .build();
+    }
+}
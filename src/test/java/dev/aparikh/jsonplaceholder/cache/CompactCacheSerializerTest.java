@@ -0,0 +1,122 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import dev.aparikh.jsonplaceholder.model.Post;
+import dev.aparikh.jsonplaceholder.model.RawResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CompactCacheSerializer
+ */
+class CompactCacheSerializerTest {
+
+    private final CompactCacheSerializer serializer = new CompactCacheSerializer(1024);
+
+    @Test
+    void testPostRoundTrip() {
+        Post post = new Post(7L, 2L, "Title with \u00fcn\u00efcode", null);
+
+        Post result = (Post) serializer.deserialize(serializer.serialize(post));
+
+        assertEquals(7L, result.getId());
+        assertEquals(2L, result.getUserId());
+        assertEquals("Title with \u00fcn\u00efcode", result.getTitle());
+        assertNull(result.getBody());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testLargePostListIsCompressed() {
+        List<Post> posts = samplePosts(100);
+
+        byte[] bytes = serializer.serialize(posts);
+        List<Post> result = (List<Post>) serializer.deserialize(bytes);
+
+        assertEquals(CompactCacheSerializer.MAGIC, bytes[0]);
+        assertEquals(1, bytes[2] & 1, "expected the LZ4 flag to be set");
+        assertEquals(100, result.size());
+        assertEquals(posts.get(42).getBody(), result.get(42).getBody());
+    }
+
+    @Test
+    void testOptionalPostRoundTrip() {
+        assertEquals(Optional.empty(), serializer.deserialize(serializer.serialize(Optional.empty())));
+
+        Optional<?> result = (Optional<?>) serializer.deserialize(serializer.serialize(Optional.of(new Post(1L, 1L, "t", "b"))));
+        assertEquals(1L, ((Post) result.orElseThrow()).getId());
+    }
+
+    @Test
+    void testRawResponseRoundTrip() {
+        byte[] body = "[{\"id\":1}]".getBytes();
+        RawResponse raw = new RawResponse(body, "application/json; charset=utf-8", null, "Tue, 15 Nov 1994 12:45:26 GMT");
+
+        byte[] bytes = serializer.serialize(raw);
+        RawResponse result = (RawResponse) serializer.deserialize(bytes);
+
+        assertEquals(CompactCacheSerializer.MAGIC, bytes[0]);
+        assertArrayEquals(body, result.body());
+        assertEquals("application/json; charset=utf-8", result.contentType());
+        assertNull(result.eTag());
+        assertEquals("Tue, 15 Nov 1994 12:45:26 GMT", result.lastModified());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testValidatedValueKeepsTheCodecOfItsValue() {
+        List<Post> posts = samplePosts(100);
+        ValidatedValue validated = new ValidatedValue(posts, "W/\"v1\"", null);
+
+        byte[] bytes = serializer.serialize(validated);
+        ValidatedValue result = (ValidatedValue) serializer.deserialize(bytes);
+
+        assertEquals(1, bytes[2] & 1, "expected the LZ4 flag to be set");
+        assertEquals("W/\"v1\"", result.eTag());
+        assertNull(result.lastModified());
+        List<Post> resultPosts = (List<Post>) result.value();
+        assertEquals(100, resultPosts.size());
+        assertEquals(posts.get(42).getBody(), resultPosts.get(42).getBody());
+    }
+
+    @Test
+    void testOtherValuesFallBackToJson() {
+        // Upstream JSON objects are read as LinkedHashMaps
+        Map<String, Object> value = new LinkedHashMap<>(Map.of("name", "Leanne Graham", "id", 1));
+
+        assertEquals(value, serializer.deserialize(serializer.serialize(value)));
+        assertSame(NullValue.INSTANCE, serializer.deserialize(serializer.serialize(NullValue.INSTANCE)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testReadsEntriesWrittenByPreviousSerializers() {
+        List<Post> posts = samplePosts(3);
+
+        byte[] json = new GenericJackson2JsonRedisSerializer().serialize(posts);
+        byte[] jdk = new JdkSerializationRedisSerializer().serialize(posts);
+
+        assertEquals(3, ((List<Post>) serializer.deserialize(json)).size());
+        assertEquals(posts.get(2).getTitle(), ((List<Post>) serializer.deserialize(jdk)).get(2).getTitle());
+    }
+
+    static List<Post> samplePosts(int count) {
+        List<Post> posts = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            posts.add(new Post(id, (id - 1) / 10 + 1,
+                    "sunt aut facere repellat provident occaecati excepturi optio reprehenderit " + id,
+                    "quia et suscipit\nsuscipit recusandae consequuntur expedita et cum\n"
+                            + "reprehenderit molestiae ut ut quas totam\nnostrum rerum est autem sunt rem eveniet architecto"));
+        }
+        return posts;
+    }
+}
@@ -0,0 +1,86 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EarlyExpirationCache
+ */
+class EarlyExpirationCacheTest {
+
+    private PipelinedRedisCache redisCache;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        redisCache = mock(PipelinedRedisCache.class);
+        when(redisCache.getName()).thenReturn("posts");
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testRecomputeBecomesLikelierAsExpiryNears() {
+        // With random = 0.5, -ln(0.5) is about 0.69, so a 100 ms recompute triggers within about 69 ms of expiry
+        assertFalse(EarlyExpirationCache.shouldRecompute(60_000, 100, 1.0, 0.5));
+        assertFalse(EarlyExpirationCache.shouldRecompute(70, 100, 1.0, 0.5));
+        assertTrue(EarlyExpirationCache.shouldRecompute(60, 100, 1.0, 0.5));
+        assertTrue(EarlyExpirationCache.shouldRecompute(0, 100, 1.0, 0.99));
+    }
+
+    @Test
+    void testLargerBetaRecomputesEarlier() {
+        assertFalse(EarlyExpirationCache.shouldRecompute(1_000, 100, 1.0, 0.9));
+        assertTrue(EarlyExpirationCache.shouldRecompute(1_000, 100, 10.0, 0.9));
+    }
+
+    @Test
+    void testEntryFarFromExpiryIsServed() {
+        when(redisCache.getWithTimeToLive("key")).thenReturn(
+                new PipelinedRedisCache.ExpiringValue(new SimpleValueWrapper("v1"), Duration.ofHours(1)));
+        EarlyExpirationCache cache = new EarlyExpirationCache(redisCache, 1.0, Duration.ofMillis(200),
+                meterRegistry, () -> 0.99);
+
+        assertEquals("v1", cache.get("key", () -> "v2"));
+        verify(redisCache, never()).put(any(), any());
+    }
+
+    @Test
+    void testEntryCloseToExpiryIsRecomputedAndCounted() {
+        when(redisCache.getWithTimeToLive("key")).thenReturn(
+                new PipelinedRedisCache.ExpiringValue(new SimpleValueWrapper("v1"), Duration.ofMillis(50)));
+        EarlyExpirationCache cache = new EarlyExpirationCache(redisCache, 1.0, Duration.ofMillis(200),
+                meterRegistry, () -> 0.5);
+
+        assertEquals("v2", cache.get("key", () -> "v2"));
+        verify(redisCache).put("key", "v2");
+        assertEquals(1, meterRegistry.get("cache.early.expirations").tag("cache", "posts").counter().count());
+    }
+
+    @Test
+    void testEntryWithoutExpiryIsNeverRecomputedEarly() {
+        when(redisCache.getWithTimeToLive("key")).thenReturn(
+                new PipelinedRedisCache.ExpiringValue(new SimpleValueWrapper("v1"), null));
+        EarlyExpirationCache cache = new EarlyExpirationCache(redisCache, 1.0, Duration.ofMillis(200),
+                meterRegistry, () -> 0.999_999);
+
+        assertEquals("v1", cache.get("key").get());
+    }
+
+    @Test
+    void testRecomputeTimeIsLearnedFromLoads() throws Exception {
+        EarlyExpirationCache cache = new EarlyExpirationCache(redisCache, 1.0, Duration.ofSeconds(10),
+                meterRegistry, () -> 0.5);
+
+        cache.get("key", () -> "v1");
+
+        // The load finished far faster than the initial 10 s assumption, which pulls the estimate down
+        assertTrue(cache.getRecomputeMillis() < 10_000);
+    }
+}
@@ -0,0 +1,67 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for InstrumentedCache
+ */
+class InstrumentedCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private InstrumentedCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new InstrumentedCache(new ConcurrentMapCache("posts"), new CacheMetrics(meterRegistry, "posts", "local"));
+    }
+
+    @Test
+    void testRecordsHitsMissesAndLoads() {
+        cache.get("key", () -> "value");
+        cache.get("key", () -> "unexpected");
+        cache.get("other");
+
+        assertEquals(1, count("cache.requests", "result", "hit"));
+        assertEquals(2, count("cache.requests", "result", "miss"));
+        assertEquals(1, meterRegistry.get("cache.load.duration").tags("cache", "posts", "outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("cache.writes").tags("cache", "posts", "backend", "local").counter().count());
+        assertTrue(meterRegistry.get("cache.entry.size").tags("cache", "posts").summary().totalAmount() > 0);
+    }
+
+    @Test
+    void testRecordsBatchesAndEvictions() {
+        cache.putAll(Map.of("a", 1, "b", 2));
+        cache.getAll(List.of("a", "b", "c"));
+        cache.evict("a");
+        cache.clear();
+
+        assertEquals(2, count("cache.requests", "result", "hit"));
+        assertEquals(1, count("cache.requests", "result", "miss"));
+        assertEquals(2, meterRegistry.get("cache.writes").counter().count());
+        assertEquals(1, count("cache.invalidations", "op", "evict"));
+        assertEquals(1, count("cache.invalidations", "op", "clear"));
+    }
+
+    @Test
+    void testRecordsFailedLoads() {
+        assertThrows(RuntimeException.class, () -> cache.get("key", () -> {
+            throw new IllegalStateException("upstream down");
+        }));
+
+        assertEquals(1, meterRegistry.get("cache.load.duration").tags("outcome", "failure").timer().count());
+        assertEquals(1, count("cache.requests", "result", "miss"));
+    }
+
+    private double count(String name, String tagKey, String tagValue) {
+        return meterRegistry.get(name).tags("cache", "posts", tagKey, tagValue).counter().count();
+    }
+}
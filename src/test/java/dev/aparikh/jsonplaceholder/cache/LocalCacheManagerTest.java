@@ -0,0 +1,49 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LocalCacheManager
+ */
+class LocalCacheManagerTest {
+
+    @Test
+    void testCachesAreBoundedByEstimatedBytes() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        LocalCacheManager cacheManager = new LocalCacheManager(name -> Caffeine.newBuilder()
+                .maximumWeight(10_000)
+                .<Object, Object>weigher((key, value) -> (int) EntrySizeEstimator.estimate(value))
+                .expireAfterWrite(Duration.ofMinutes(5))
+                .executor(Runnable::run), meterRegistry);
+
+        Cache cache = cacheManager.getCache("apiData");
+        assertNotNull(cache);
+        for (int i = 0; i < 100; i++) {
+            cache.put("/comments/" + i, "x".repeat(1_000));
+        }
+
+        com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache =
+                (com.github.benmanes.caffeine.cache.Cache<?, ?>) cache.getNativeCache();
+        nativeCache.cleanUp();
+        assertTrue(nativeCache.estimatedSize() < 100);
+        assertTrue(nativeCache.policy().eviction().orElseThrow().weightedSize().orElseThrow() <= 10_000);
+        assertTrue(meterRegistry.get("cache.evictions").tag("cache", "apiData").functionCounter().count() > 0);
+        assertTrue(meterRegistry.get("cache.weighted.size").tag("backend", "local").gauge().value() > 0);
+    }
+
+    @Test
+    void testSizeEstimateGrowsWithContent() {
+        long small = EntrySizeEstimator.estimate("title");
+        long large = EntrySizeEstimator.estimate("title".repeat(100));
+
+        assertTrue(large > small);
+        assertEquals(0, EntrySizeEstimator.estimate(null));
+    }
+}
@@ -0,0 +1,162 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.aparikh.jsonplaceholder.model.Post;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.Cache;
+import org.springframework.cache.interceptor.SimpleKey;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Unit tests for LocalCacheSnapshot
+ */
+class LocalCacheSnapshotTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testCheckpointedEntriesAreRestoredAndReported() throws Exception {
+        Path file = directory.resolve("snapshot.bin");
+        LocalCacheManager before = cacheManager();
+        LocalCacheSnapshot writer = snapshot(file, NOW);
+        writer.attach(before);
+        List<Post> posts = List.of(new Post(1L, 1L, "Title", "Body"));
+        before.getCache("posts").put(SimpleKey.EMPTY, posts);
+        before.getCache("posts").put(1L, Optional.of(posts.get(0)));
+        before.getCache("apiData").put("v1:java.lang.Object /users", null);
+
+        assertEquals(3, writer.checkpoint());
+        writer.destroy();
+
+        LocalCacheManager after = cacheManager();
+        LocalCacheSnapshot reader = snapshot(file, NOW.plusSeconds(30));
+        assertEquals(3, reader.attach(after));
+        reader.destroy();
+
+        Cache restored = after.getCache("posts");
+        List<?> restoredPosts = (List<?>) restored.get(SimpleKey.EMPTY).get();
+        assertEquals(1, restoredPosts.size());
+        assertEquals("Title", ((Post) restoredPosts.get(0)).getTitle());
+        Optional<?> restoredPost = (Optional<?>) restored.get(1L).get();
+        assertEquals("Body", ((Post) restoredPost.orElseThrow()).getBody());
+        assertNull(after.getCache("apiData").get("v1:java.lang.Object /users").get());
+        assertEquals(Set.of(SimpleKey.EMPTY, 1L), reader.restoredKeys("posts"));
+    }
+
+    @Test
+    void testEntriesThatExpiredSinceTheCheckpointAreSkipped() throws Exception {
+        Path file = directory.resolve("snapshot.bin");
+        LocalCacheManager before = cacheManager();
+        LocalCacheSnapshot writer = snapshot(file, NOW);
+        writer.attach(before);
+        before.getCache("posts").put(1L, Optional.empty());
+        writer.checkpoint();
+        writer.destroy();
+
+        LocalCacheManager after = cacheManager();
+        LocalCacheSnapshot reader = snapshot(file, NOW.plus(Duration.ofHours(2)));
+
+        assertEquals(0, reader.attach(after));
+        reader.destroy();
+        assertTrue(reader.restoredKeys("posts").isEmpty());
+    }
+
+    @Test
+    void testEmptyCachesKeepThePreviousSnapshot() throws Exception {
+        Path file = directory.resolve("snapshot.bin");
+        LocalCacheManager cacheManager = cacheManager();
+        LocalCacheSnapshot snapshot = snapshot(file, NOW);
+        snapshot.attach(cacheManager);
+        cacheManager.getCache("posts").put(1L, Optional.empty());
+        snapshot.checkpoint();
+        byte[] written = Files.readAllBytes(file);
+
+        cacheManager.getCache("posts").clear();
+
+        assertEquals(0, snapshot.checkpoint());
+        snapshot.destroy();
+        assertArrayEquals(written, Files.readAllBytes(file));
+    }
+
+    @Test
+    void testCorruptSnapshotIsIgnored() throws Exception {
+        Path file = directory.resolve("snapshot.bin");
+        Files.write(file, new byte[]{1, 2, 3});
+
+        LocalCacheSnapshot snapshot = snapshot(file, NOW);
+
+        assertEquals(0, snapshot.attach(cacheManager()));
+        snapshot.destroy();
+    }
+
+    @Test
+    void testEntriesWithUnsupportedKeysAreLeftOut() throws Exception {
+        Path file = directory.resolve("snapshot.bin");
+        LocalCacheManager cacheManager = cacheManager();
+        LocalCacheSnapshot snapshot = snapshot(file, NOW);
+        snapshot.attach(cacheManager);
+        cacheManager.getCache("posts").put(1L, Optional.empty());
+        cacheManager.getCache("posts").put(new SimpleKey(1L, "two"), Optional.empty());
+
+        assertEquals(1, snapshot.checkpoint());
+        snapshot.destroy();
+    }
+
+    @Test
+    void testKeyCodecRoundTripsSupportedKeys() {
+        for (Object key : List.of(42L, "v1:java.lang.Object /users", SimpleKey.EMPTY)) {
+            assertEquals(key, LocalCacheSnapshot.decodeKey(LocalCacheSnapshot.encodeKey(key)));
+        }
+        assertNull(LocalCacheSnapshot.encodeKey(42));
+        // A JDK serialization stream is never accepted as a key
+        assertThrows(IllegalArgumentException.class,
+                () -> LocalCacheSnapshot.decodeKey(new byte[]{(byte) 0xAC, (byte) 0xED}));
+    }
+
+    @Test
+    void testSnapshotWritableByOthersIsIgnored() throws Exception {
+        assumeTrue(directory.getFileSystem().supportedFileAttributeViews().contains("posix"));
+        Path file = directory.resolve("snapshot.bin");
+        LocalCacheManager before = cacheManager();
+        LocalCacheSnapshot writer = snapshot(file, NOW);
+        writer.attach(before);
+        before.getCache("posts").put(1L, Optional.empty());
+        writer.checkpoint();
+        writer.destroy();
+        assertEquals(PosixFilePermissions.fromString("rw-------"), Files.getPosixFilePermissions(file));
+
+        Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rw-rw-rw-"));
+        LocalCacheSnapshot reader = snapshot(file, NOW);
+
+        assertEquals(0, reader.attach(cacheManager()));
+        reader.destroy();
+    }
+
+    private static LocalCacheSnapshot snapshot(Path file, Instant now) {
+        return new LocalCacheSnapshot(file, Duration.ofHours(1), 1024, Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private static LocalCacheManager cacheManager() {
+        return new LocalCacheManager(name -> Caffeine.newBuilder()
+                .expireAfter(new NegativeAwareExpiry(Duration.ofHours(1), Duration.ofMinutes(1)))
+                .executor(Runnable::run), new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,62 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import dev.aparikh.jsonplaceholder.model.Post;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.NullValue;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for NegativeAwareExpiry
+ */
+class NegativeAwareExpiryTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private Cache<Object, Object> cache;
+
+    @BeforeEach
+    void setUp() {
+        Ticker ticker = now::get;
+        cache = Caffeine.newBuilder()
+                .ticker(ticker)
+                .expireAfter(new NegativeAwareExpiry(Duration.ofHours(1), Duration.ofMinutes(1)))
+                .build();
+    }
+
+    @Test
+    void testNegativeResultsExpireBeforeRegularEntries() {
+        cache.put(1L, Optional.of(new Post(1L, 1L, "Title", "Body")));
+        cache.put(2L, Optional.empty());
+        cache.put(3L, NullValue.INSTANCE);
+
+        advance(Duration.ofMinutes(2));
+
+        assertNotNull(cache.getIfPresent(1L));
+        assertNull(cache.getIfPresent(2L));
+        assertNull(cache.getIfPresent(3L));
+    }
+
+    @Test
+    void testUpdateAppliesTtlOfNewValue() {
+        cache.put(1L, Optional.empty());
+        cache.put(1L, Optional.of(new Post(1L, 1L, "Title", "Body")));
+
+        advance(Duration.ofMinutes(30));
+        assertNotNull(cache.getIfPresent(1L));
+
+        advance(Duration.ofMinutes(31));
+        assertNull(cache.getIfPresent(1L));
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,75 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ReactiveCache
+ */
+class ReactiveCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReactiveCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ReactiveCache("reactive-posts", Duration.ofHours(1), Duration.ofMinutes(1), 1_000_000,
+                meterRegistry);
+    }
+
+    @Test
+    void testValueIsLoadedOnceAndThenServedFromCache() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("v1", cache.get("key", () -> Mono.fromSupplier(() -> "v" + loads.incrementAndGet())).block());
+        assertEquals("v1", cache.get("key", () -> Mono.fromSupplier(() -> "v" + loads.incrementAndGet())).block());
+
+        assertEquals(1, loads.get());
+        assertEquals(1, meterRegistry.get("cache.requests").tag("result", "hit").counter().count());
+        assertEquals(1, meterRegistry.get("cache.requests").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void testConcurrentLookupsShareOneLoad() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        Sinks.One<String> upstream = Sinks.one();
+        Mono<String> load = upstream.asMono().doOnSubscribe(s -> subscriptions.incrementAndGet());
+
+        Mono<String> first = cache.get("key", () -> load).cache();
+        Mono<String> second = cache.get("key", () -> load).cache();
+        first.subscribe();
+        second.subscribe();
+        upstream.tryEmitValue("v1");
+
+        assertEquals("v1", first.block());
+        assertEquals("v1", second.block());
+        assertEquals(1, subscriptions.get());
+    }
+
+    @Test
+    void testEmptyResultIsCachedAsNegative() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertNull(cache.get("missing", () -> Mono.<String>empty().doOnSubscribe(s -> loads.incrementAndGet())).block());
+        assertNull(cache.get("missing", () -> Mono.<String>empty().doOnSubscribe(s -> loads.incrementAndGet())).block());
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testErrorsAreNotCached() {
+        Mono<String> failed = cache.get("key", () -> Mono.error(new IllegalStateException("upstream down")));
+        assertThrows(IllegalStateException.class, failed::block);
+
+        assertEquals("v1", cache.get("key", () -> Mono.just("v1")).block());
+    }
+}
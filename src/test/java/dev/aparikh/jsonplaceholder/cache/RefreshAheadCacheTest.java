@@ -0,0 +1,160 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RefreshAheadCache
+ */
+class RefreshAheadCacheTest {
+
+    private MutableClock clock;
+    private List<Runnable> pendingRefreshes;
+    private ConcurrentMapCache delegate;
+    private RefreshAheadCache cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        pendingRefreshes = new ArrayList<>();
+        delegate = new ConcurrentMapCache("posts");
+        cache = new RefreshAheadCache(delegate, Duration.ofMinutes(5), Duration.ofHours(1),
+                new CacheRefresher(pendingRefreshes::add), clock);
+    }
+
+    @Test
+    void testFreshEntryIsServedWithoutRefresh() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("v1", cache.get("key", () -> "v" + loads.incrementAndGet()));
+        clock.advance(Duration.ofMinutes(1));
+        assertEquals("v1", cache.get("key", () -> "v" + loads.incrementAndGet()));
+
+        assertEquals(1, loads.get());
+        assertTrue(pendingRefreshes.isEmpty());
+    }
+
+    @Test
+    void testSoftExpiredEntryIsServedStaleAndRefreshedOnce() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("key", () -> "v" + loads.incrementAndGet());
+
+        clock.advance(Duration.ofMinutes(6));
+        assertEquals("v1", cache.get("key", () -> "v" + loads.incrementAndGet()));
+        assertEquals("v1", cache.get("key", () -> "v" + loads.incrementAndGet()));
+
+        // Only one background refresh is scheduled for the key
+        assertEquals(1, pendingRefreshes.size());
+        pendingRefreshes.get(0).run();
+
+        assertEquals(2, loads.get());
+        assertEquals("v2", cache.get("key", () -> "v" + loads.incrementAndGet()));
+    }
+
+    @Test
+    void testHardExpiredEntryIsLoadedSynchronously() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("key", () -> "v" + loads.incrementAndGet());
+
+        clock.advance(Duration.ofHours(2));
+
+        assertNull(cache.get("key"));
+        assertEquals("v2", cache.get("key", () -> "v" + loads.incrementAndGet()));
+        assertTrue(pendingRefreshes.isEmpty());
+    }
+
+    @Test
+    void testFailedRefreshKeepsServingStaleValue() {
+        cache.get("key", () -> "v1");
+
+        clock.advance(Duration.ofMinutes(6));
+        cache.get("key", () -> {
+            throw new IllegalStateException("upstream down");
+        });
+        pendingRefreshes.get(0).run();
+
+        assertEquals("v1", delegate.get("key").get());
+    }
+
+    @Test
+    void testEntryMarkedStaleIsServedAndRefreshed() {
+        delegate.put("key", "restored");
+
+        cache.markStale(List.of("key"));
+
+        assertEquals("restored", cache.get("key", () -> "reloaded"));
+        assertEquals(1, pendingRefreshes.size());
+        pendingRefreshes.get(0).run();
+        assertEquals("reloaded", delegate.get("key").get());
+    }
+
+    @Test
+    void testAgeOfEntryWrittenElsewhereIsDerivedFromRemainingTtl() {
+        TtlCache store = new TtlCache();
+        RefreshAheadCache otherNode = new RefreshAheadCache(store, Duration.ofMinutes(5), Duration.ofHours(1),
+                new CacheRefresher(pendingRefreshes::add), clock);
+        store.put("key", "written elsewhere");
+        store.remaining = Duration.ofMinutes(50);
+
+        assertEquals("written elsewhere", otherNode.get("key", () -> "reloaded"));
+        assertEquals(1, pendingRefreshes.size());
+        pendingRefreshes.get(0).run();
+        assertEquals("reloaded", store.get("key").get());
+    }
+
+    @Test
+    void testEntryWithUnknownTtlIsFreshWhenFirstSeen() {
+        delegate.put("key", "restored");
+
+        assertEquals("restored", cache.get("key", () -> "reloaded"));
+        assertTrue(pendingRefreshes.isEmpty());
+    }
+
+    private static class TtlCache extends ConcurrentMapCache implements ExpiringCache {
+        private Duration remaining;
+
+        TtlCache() {
+            super("posts");
+        }
+
+        @Override
+        public Duration getTimeToLive(Object key) {
+            return remaining;
+        }
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
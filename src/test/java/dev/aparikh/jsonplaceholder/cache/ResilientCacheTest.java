@@ -0,0 +1,141 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import dev.aparikh.jsonplaceholder.resilience.CircuitBreaker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ResilientCache
+ */
+class ResilientCacheTest {
+
+    private FailingCache remote;
+    private ConcurrentMapCache local;
+    private CircuitBreaker circuitBreaker;
+    private ResilientCache cache;
+
+    @BeforeEach
+    void setUp() {
+        remote = new FailingCache();
+        local = new ConcurrentMapCache("posts");
+        circuitBreaker = new CircuitBreaker("redis", 4, 2, 50, Duration.ofMinutes(1));
+        cache = new ResilientCache(remote, local, circuitBreaker);
+    }
+
+    @Test
+    void testUsesRemoteWhileHealthy() {
+        cache.put("key", "value");
+
+        assertEquals("value", remote.get("key").get());
+        assertNull(local.get("key"));
+        assertEquals("value", cache.get("key").get());
+    }
+
+    @Test
+    void testFailsOverToLocalAndStopsCallingRemote() {
+        remote.down = true;
+
+        cache.put("key", "value");
+        assertEquals("value", cache.get("key").get());
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        int remoteCalls = remote.calls;
+        assertEquals("value", cache.get("key", () -> "reloaded"));
+        assertEquals(remoteCalls, remote.calls);
+    }
+
+    @Test
+    void testResyncEvictsKeysChangedWhileBypassed() {
+        remote.put("key", "old");
+        remote.down = true;
+        circuitBreaker.forceOpen();
+
+        cache.put("key", "new");
+        remote.down = false;
+        cache.resync();
+
+        assertNull(remote.get("key"));
+        assertNull(local.get("key"));
+    }
+
+    @Test
+    void testLoaderFailureIsNotCountedAgainstRemote() {
+        for (int i = 0; i < 4; i++) {
+            assertThrows(RuntimeException.class, () -> cache.get("key", () -> {
+                throw new IllegalStateException("upstream down");
+            }));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void testReportsWhichCacheServedTheLastCall() {
+        cache.put("key", "value");
+        assertFalse(cache.wasServedLocally());
+
+        circuitBreaker.forceOpen();
+        cache.get("key");
+        assertTrue(cache.wasServedLocally());
+    }
+
+    @Test
+    void testSlowRemoteCallsOpenTheBreaker() {
+        cache = new ResilientCache(remote, local, circuitBreaker, Duration.ofMillis(10));
+        remote.put("key", "value");
+        remote.delayMillis = 50;
+
+        assertEquals("value", cache.get("key").get());
+        assertEquals("value", cache.get("key").get());
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    private static class FailingCache extends ConcurrentMapCache {
+        private boolean down;
+        private long delayMillis;
+        private int calls;
+
+        FailingCache() {
+            super("posts");
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            check();
+            return super.get(key);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            check();
+            super.put(key, value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            check();
+            super.evict(key);
+        }
+
+        private void check() {
+            calls++;
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (down) {
+                throw new RedisConnectionFailureException("Redis is down");
+            }
+        }
+    }
+}
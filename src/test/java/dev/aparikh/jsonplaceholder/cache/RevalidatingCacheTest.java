@@ -0,0 +1,115 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import dev.aparikh.jsonplaceholder.model.RawResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RevalidatingCache
+ */
+class RevalidatingCacheTest {
+
+    private ConcurrentMapCache delegate;
+    private RevalidatingCache cache;
+
+    @BeforeEach
+    void setUp() {
+        delegate = new ConcurrentMapCache("apiData");
+        cache = new RevalidatingCache(delegate);
+    }
+
+    @Test
+    void testValidatorsAreStoredWithTheValue() {
+        String value = cache.get("key", () -> {
+            Revalidation.claim().modified("\"v1\"", "Mon, 12 Oct 2026 10:00:00 GMT");
+            return "v1";
+        });
+
+        assertEquals("v1", value);
+        assertEquals("v1", cache.get("key").get());
+        assertEquals("v1", cache.get("key", String.class));
+        assertEquals(new ValidatedValue("v1", "\"v1\"", "Mon, 12 Oct 2026 10:00:00 GMT"), delegate.get("key").get());
+        assertEquals("v1", cache.getAll(List.of("key")).get("key").get());
+    }
+
+    @Test
+    void testValuesWithoutValidatorsAndNegativeResultsAreStoredAsTheyAre() {
+        cache.get("plain", () -> "v1");
+        cache.get("missing", () -> {
+            Revalidation.claim().modified("\"v1\"", null);
+            return null;
+        });
+        RawResponse raw = new RawResponse(new byte[]{'{', '}'}, "application/json", "\"r1\"", null);
+        cache.get("raw", () -> {
+            Revalidation.claim().modified("\"r1\"", null);
+            return raw;
+        });
+
+        assertEquals("v1", delegate.get("plain").get());
+        assertNull(delegate.get("missing").get());
+        assertSame(raw, delegate.get("raw").get());
+    }
+
+    @Test
+    void testNotModifiedKeepsTheHeldValue() throws Exception {
+        ValidatedValue held = new ValidatedValue("v1", "\"v1\"", null);
+        AtomicInteger requests = new AtomicInteger();
+
+        Object stored = Revalidation.replacing(held, () -> cache.get("key", () -> {
+            Revalidation revalidation = Revalidation.claim();
+            requests.incrementAndGet();
+            assertTrue(revalidation.isReplacing());
+            assertEquals("\"v1\"", revalidation.getETag());
+            assertNull(Revalidation.claim());
+            revalidation.notModified();
+            return null;
+        })).call();
+
+        assertEquals("v1", stored);
+        assertSame(held, delegate.get("key").get());
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void testRawResponseIsRevalidatedWithItsOwnValidators() throws Exception {
+        RawResponse held = new RawResponse(new byte[0], null, "\"r1\"", "Mon, 12 Oct 2026 10:00:00 GMT");
+
+        Object stored = Revalidation.replacing(held, () -> cache.get("key", () -> {
+            Revalidation revalidation = Revalidation.claim();
+            assertEquals("\"r1\"", revalidation.getETag());
+            assertEquals("Mon, 12 Oct 2026 10:00:00 GMT", revalidation.getLastModified());
+            revalidation.notModified();
+            throw new IllegalStateException("empty body");
+        })).call();
+
+        assertSame(held, stored);
+    }
+
+    @Test
+    void testLoadsOutsideARefreshReplaceNothing() {
+        cache.get("key", () -> {
+            Revalidation revalidation = Revalidation.claim();
+            assertFalse(revalidation.isReplacing());
+            assertNull(revalidation.getETag());
+            return "v1";
+        });
+
+        assertNull(Revalidation.claim());
+    }
+
+    @Test
+    void testFailedLoadIsNotCached() {
+        assertThrows(RuntimeException.class, () -> cache.get("key", () -> {
+            throw new IllegalStateException("upstream down");
+        }));
+
+        assertNull(cache.get("key"));
+        assertTrue(cache.getAll(List.of("key")).isEmpty());
+    }
+}
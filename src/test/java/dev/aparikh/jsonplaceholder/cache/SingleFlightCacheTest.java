@@ -0,0 +1,115 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SingleFlightCache
+ */
+class SingleFlightCacheTest {
+
+    private static final int CALLERS = 8;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlightCache cache;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new SingleFlightCache(new ConcurrentMapCache("posts"), meterRegistry);
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @Test
+    void testConcurrentMissesShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> cache.get(1L, () -> {
+            loads.incrementAndGet();
+            loaderStarted.countDown();
+            release.await();
+            return "post-1";
+        })));
+        assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+
+        for (int i = 1; i < CALLERS; i++) {
+            results.add(executor.submit(() -> cache.get(1L, () -> "post-" + loads.incrementAndGet())));
+        }
+        waitForCollapsedLoads(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("post-1", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(CALLERS - 1, meterRegistry.counter("cache.loads.collapsed", "cache", "posts").count());
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testLeaderReusesValueStoredAfterItsMiss() {
+        ConcurrentMapCache store = new ConcurrentMapCache("posts");
+        store.put(1L, "post-1");
+        AtomicInteger reads = new AtomicInteger();
+        // The first read misses, as if the previous leader stored its value right after it
+        Cache racingStore = new CacheDecorator(store) {
+            @Override
+            public ValueWrapper get(Object key) {
+                return reads.incrementAndGet() == 1 ? null : super.get(key);
+            }
+        };
+        SingleFlightCache singleFlight = new SingleFlightCache(racingStore, meterRegistry);
+
+        assertEquals("post-1", singleFlight.get(1L, () -> fail("value should not be loaded again")));
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testWaitingCallersShareFailure() throws Exception {
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> cache.get(1L, () -> {
+            loaderStarted.countDown();
+            release.await();
+            throw new IllegalStateException("upstream down");
+        }));
+        assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+
+        Future<String> follower = executor.submit(() -> cache.get(1L, () -> "unexpected"));
+        waitForCollapsedLoads(1);
+        release.countDown();
+
+        Exception leaderFailure = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        Exception followerFailure = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(Cache.ValueRetrievalException.class, leaderFailure.getCause());
+        assertInstanceOf(IllegalStateException.class, followerFailure.getCause().getCause());
+        assertNull(cache.get(1L));
+        executor.shutdownNow();
+    }
+
+    private void waitForCollapsedLoads(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (cache.getCollapsedLoads() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package dev.aparikh.jsonplaceholder.cache;
+
+import dev.aparikh.jsonplaceholder.model.Post;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TwoTierCache
+ */
+class TwoTierCacheTest {
+
+    private ConcurrentMapCache local;
+    private ConcurrentMapCache remote;
+    private StringRedisTemplate redisTemplate;
+    private NearCacheInvalidator invalidator;
+    private TwoTierCache cache;
+
+    @BeforeEach
+    void setUp() {
+        local = new ConcurrentMapCache("posts");
+        remote = new ConcurrentMapCache("posts");
+        redisTemplate = mock(StringRedisTemplate.class);
+        invalidator = new NearCacheInvalidator(redisTemplate, "cache:invalidation");
+        invalidator.register(local);
+        cache = new TwoTierCache(local, remote, invalidator);
+    }
+
+    @Test
+    void testRemoteHitPopulatesLocalTier() {
+        Post post = new Post(1L, 1L, "Title", "Body");
+        remote.put(1L, post);
+
+        assertSame(post, cache.get(1L).get());
+        assertSame(post, local.get("1").get());
+
+        // Second read is served locally even if the remote entry disappears
+        remote.evict(1L);
+        assertSame(post, cache.get(1L).get());
+    }
+
+    @Test
+    void testPutWritesBothTiersAndPublishesInvalidation() {
+        Post post = new Post(1L, 1L, "Title", "Body");
+
+        cache.put(1L, post);
+
+        assertSame(post, remote.get(1L).get());
+        assertSame(post, local.get("1").get());
+        verify(redisTemplate).convertAndSend(eq("cache:invalidation"), anyString());
+    }
+
+    @Test
+    void testValueLoaderCalledOnlyOnMiss() {
+        assertEquals("loaded", cache.get("key", () -> "loaded"));
+        assertEquals("loaded", cache.get("key", () -> "reloaded"));
+        assertEquals("loaded", remote.get("key").get());
+    }
+
+    @Test
+    void testInvalidationFromOtherNodeEvictsLocalCopy() {
+        local.put("1", new Post(1L, 1L, "Stale", "Body"));
+
+        String body = String.join("\n", "other-node", "posts", "evict", "1");
+        invalidator.onMessage(new DefaultMessage("cache:invalidation".getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8)), null);
+
+        assertNull(local.get("1"));
+    }
+
+    @Test
+    void testOwnInvalidationIsIgnored() {
+        cache.put(1L, new Post(1L, 1L, "Title", "Body"));
+
+        // Replay the message this node just published
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq("cache:invalidation"), message.capture());
+        invalidator.onMessage(new DefaultMessage("cache:invalidation".getBytes(StandardCharsets.UTF_8),
+                message.getValue().getBytes(StandardCharsets.UTF_8)), null);
+
+        assertNotNull(local.get("1"));
+    }
+}
@@ -0,0 +1,126 @@
+package dev.aparikh.jsonplaceholder.client;
+
+import dev.aparikh.jsonplaceholder.cache.CacheRefresher;
+import dev.aparikh.jsonplaceholder.cache.RefreshAheadCache;
+import dev.aparikh.jsonplaceholder.cache.RevalidatingCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Unit tests for ConditionalRequestInterceptor
+ */
+class ConditionalRequestInterceptorTest {
+
+    private static final String URL = "https://example.test/posts";
+    private static final String BODY = "[{\"id\":1}]";
+
+    private SimpleMeterRegistry meterRegistry;
+    private MockRestServiceServer server;
+    private RestClient restClient;
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        RestClient.Builder builder = RestClient.builder()
+                .requestInterceptor(new ConditionalRequestInterceptor(meterRegistry));
+        server = MockRestServiceServer.bindTo(builder).build();
+        restClient = builder.build();
+        // Every hit is past the soft TTL and refreshed before it returns
+        cache = new RevalidatingCache(new RefreshAheadCache(new ConcurrentMapCache("posts"), Duration.ZERO,
+                Duration.ofHours(1), new CacheRefresher(Runnable::run)));
+    }
+
+    @Test
+    void testNotModifiedKeepsCachedValue() {
+        server.expect(requestTo(URL))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess(BODY, MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, "W/\"v1\""));
+        server.expect(requestTo(URL))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "W/\"v1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+        server.expect(requestTo(URL))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "W/\"v1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+        assertEquals(BODY, load());
+        assertEquals(BODY, load());
+        assertEquals(BODY, load());
+
+        assertEquals(BODY, cache.get("posts").get());
+        assertEquals(2, meterRegistry.counter("http.client.revalidations", "outcome", "not_modified").count());
+        server.verify();
+    }
+
+    @Test
+    void testModifiedResponseReplacesCachedValue() {
+        server.expect(requestTo(URL))
+                .andRespond(withSuccess(BODY, MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.LAST_MODIFIED, "Mon, 12 Oct 2026 10:00:00 GMT"));
+        server.expect(requestTo(URL))
+                .andExpect(header(HttpHeaders.IF_MODIFIED_SINCE, "Mon, 12 Oct 2026 10:00:00 GMT"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, "\"v2\""));
+        server.expect(requestTo(URL))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v2\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+        load();
+        // Served stale while the refresh stores the changed value
+        assertEquals(BODY, load());
+        assertEquals("[]", load());
+
+        assertEquals("[]", cache.get("posts").get());
+        assertEquals(1, meterRegistry.counter("http.client.revalidations", "outcome", "modified").count());
+        server.verify();
+    }
+
+    @Test
+    void testValuesWithoutValidatorsAreRefreshedUnconditionally() {
+        server.expect(requestTo(URL)).andRespond(withSuccess(BODY, MediaType.APPLICATION_JSON));
+        server.expect(requestTo(URL))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_MODIFIED_SINCE))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        load();
+        load();
+
+        assertEquals("[]", cache.get("posts").get());
+        server.verify();
+    }
+
+    @Test
+    void testRequestsOutsideCacheLoadsAreNotConditional() {
+        server.expect(requestTo(URL))
+                .andRespond(withSuccess(BODY, MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, "\"v1\""));
+        server.expect(requestTo(URL))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess(BODY, MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, "\"v1\""));
+
+        restClient.get().uri(URL).retrieve().body(String.class);
+        restClient.get().uri(URL).retrieve().body(String.class);
+
+        server.verify();
+    }
+
+    private String load() {
+        return cache.get("posts", () -> restClient.get().uri(URL).retrieve().body(String.class));
+    }
+}
@@ -0,0 +1,222 @@
+package dev.aparikh.jsonplaceholder.client;
+
+import dev.aparikh.jsonplaceholder.cache.CacheRefresher;
+import dev.aparikh.jsonplaceholder.cache.RefreshAheadCache;
+import dev.aparikh.jsonplaceholder.cache.RevalidatingCache;
+import dev.aparikh.jsonplaceholder.resilience.CallNotPermittedException;
+import dev.aparikh.jsonplaceholder.resilience.CircuitBreaker;
+import dev.aparikh.jsonplaceholder.resilience.TokenBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.ExpectedCount.times;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Unit tests for UpstreamResilienceInterceptor
+ */
+class UpstreamResilienceInterceptorTest {
+
+    private static final String URL = "https://example.test/posts";
+    private static final String BODY = "[{\"id\":1}]";
+
+    private SimpleMeterRegistry meterRegistry;
+    private CircuitBreaker circuitBreaker;
+    private UpstreamResilienceInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = new CircuitBreaker("jsonplaceholder", 4, 2, 50, Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        interceptor.close();
+    }
+
+    @Test
+    void testServerErrorsOpenTheCircuitAndLaterCallsFailFast() {
+        interceptor = interceptor(new TokenBucket(1_000, 1_000));
+        RestClient.Builder builder = RestClient.builder().requestInterceptor(interceptor);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(builder).build();
+        RestClient restClient = builder.build();
+        server.expect(times(2), requestTo(URL)).andRespond(withServerError());
+
+        assertThrows(HttpServerErrorException.class, () -> restClient.get().uri(URL).retrieve().body(String.class));
+        assertThrows(HttpServerErrorException.class, () -> restClient.get().uri(URL).retrieve().body(String.class));
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        CallNotPermittedException refused = assertThrows(CallNotPermittedException.class,
+                () -> restClient.get().uri(URL).retrieve().body(String.class));
+        assertEquals(UpstreamResilienceInterceptor.CIRCUIT_OPEN, refused.getReason());
+        assertEquals(1, meterRegistry.counter("jsonplaceholder.upstream.rejected",
+                "name", "jsonplaceholder", "reason", "circuit_open").count());
+        assertEquals(1, meterRegistry.get("jsonplaceholder.upstream.circuit.state").gauge().value());
+        server.verify();
+    }
+
+    @Test
+    void testRefusedRefreshKeepsCachedValue() {
+        interceptor = new UpstreamResilienceInterceptor(circuitBreaker, 10, Duration.ZERO,
+                new TokenBucket(1_000, 1_000), Duration.ZERO, true, meterRegistry);
+        RestClient.Builder builder = RestClient.builder().requestInterceptor(interceptor);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(builder).build();
+        RestClient restClient = builder.build();
+        // Every hit is past the soft TTL and refreshed before it returns
+        Cache cache = new RevalidatingCache(new RefreshAheadCache(new ConcurrentMapCache("posts"), Duration.ZERO,
+                Duration.ofHours(1), new CacheRefresher(Runnable::run)));
+        server.expect(requestTo(URL)).andRespond(withSuccess(BODY, MediaType.APPLICATION_JSON));
+
+        cache.get("posts", () -> restClient.get().uri(URL).retrieve().body(String.class));
+        circuitBreaker.forceOpen();
+        String stale = cache.get("posts", () -> restClient.get().uri(URL).retrieve().body(String.class));
+
+        assertEquals(BODY, stale);
+        assertEquals(BODY, cache.get("posts").get());
+        assertEquals(1, meterRegistry.counter("jsonplaceholder.upstream.stale", "name", "jsonplaceholder").count());
+        server.verify();
+    }
+
+    @Test
+    void testRefusedRequestOutsideARefreshFails() {
+        interceptor = new UpstreamResilienceInterceptor(circuitBreaker, 10, Duration.ZERO,
+                new TokenBucket(1_000, 1_000), Duration.ZERO, true, meterRegistry);
+        RestClient restClient = RestClient.builder().requestInterceptor(interceptor).build();
+        Cache cache = new RevalidatingCache(new ConcurrentMapCache("posts"));
+
+        circuitBreaker.forceOpen();
+
+        assertThrows(CallNotPermittedException.class, () -> restClient.get().uri(URL).retrieve().body(String.class));
+        Cache.ValueRetrievalException failed = assertThrows(Cache.ValueRetrievalException.class,
+                () -> cache.get("posts", () -> restClient.get().uri(URL).retrieve().body(String.class)));
+        assertInstanceOf(CallNotPermittedException.class, failed.getCause());
+        assertEquals(0, meterRegistry.counter("jsonplaceholder.upstream.stale", "name", "jsonplaceholder").count());
+    }
+
+    @Test
+    void testRateLimitRefusesCallsBeyondTheBurst() {
+        interceptor = interceptor(new TokenBucket(0.001, 1));
+        RestClient.Builder builder = RestClient.builder().requestInterceptor(interceptor);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(builder).build();
+        RestClient restClient = builder.build();
+        server.expect(requestTo(URL)).andRespond(withSuccess(BODY, MediaType.APPLICATION_JSON));
+
+        restClient.get().uri(URL).retrieve().body(String.class);
+        CallNotPermittedException refused = assertThrows(CallNotPermittedException.class,
+                () -> restClient.get().uri(URL).retrieve().body(String.class));
+
+        assertEquals(UpstreamResilienceInterceptor.RATE_LIMITED, refused.getReason());
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        server.verify();
+    }
+
+    @Test
+    void testFullBulkheadRefusesCalls() throws Exception {
+        interceptor = new UpstreamResilienceInterceptor(circuitBreaker, 1, Duration.ZERO,
+                new TokenBucket(1_000, 1_000), Duration.ZERO, false, meterRegistry);
+        RestClient.Builder builder = RestClient.builder().requestInterceptor(interceptor);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(builder).build();
+        RestClient restClient = builder.build();
+        server.expect(requestTo(URL)).andRespond(request -> {
+            // The first call still holds the only permit while a nested call is attempted
+            CallNotPermittedException refused = assertThrows(CallNotPermittedException.class,
+                    () -> restClient.get().uri(URL).retrieve().body(String.class));
+            assertEquals(UpstreamResilienceInterceptor.BULKHEAD_FULL, refused.getReason());
+            return withSuccess(BODY, MediaType.APPLICATION_JSON).createResponse(request);
+        });
+
+        assertEquals(BODY, restClient.get().uri(URL).retrieve().body(String.class));
+        assertEquals(1, meterRegistry.get("jsonplaceholder.upstream.bulkhead.available").gauge().value());
+        server.verify();
+    }
+
+    @Test
+    void testPermitIsHeldUntilTheResponseIsClosed() {
+        interceptor = interceptor(new TokenBucket(1_000, 1_000));
+        RestClient.Builder builder = RestClient.builder().requestInterceptor(interceptor);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(builder).build();
+        RestClient restClient = builder.build();
+        server.expect(requestTo(URL)).andRespond(withSuccess(BODY, MediaType.APPLICATION_JSON));
+
+        ClientHttpResponse response = restClient.get().uri(URL).exchange((request, upstream) -> upstream, false);
+        // Headers have arrived, but the body may still be streaming
+        assertEquals(9, meterRegistry.get("jsonplaceholder.upstream.bulkhead.available").gauge().value());
+
+        response.close();
+        response.close();
+        assertEquals(10, meterRegistry.get("jsonplaceholder.upstream.bulkhead.available").gauge().value());
+        server.verify();
+    }
+
+    @Test
+    void testWebClientCallsShareTheCircuitBreaker() {
+        interceptor = interceptor(new TokenBucket(1_000, 1_000));
+        AtomicInteger exchanges = new AtomicInteger();
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    exchanges.incrementAndGet();
+                    return Mono.just(ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build());
+                })
+                .filter(interceptor)
+                .build();
+
+        assertThrows(WebClientResponseException.class, () -> webClient.get().uri(URL).retrieve()
+                .bodyToMono(String.class).block());
+        assertThrows(WebClientResponseException.class, () -> webClient.get().uri(URL).retrieve()
+                .bodyToMono(String.class).block());
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        CallNotPermittedException refused = assertThrows(CallNotPermittedException.class,
+                () -> webClient.get().uri(URL).retrieve().bodyToMono(String.class).block());
+        assertEquals(UpstreamResilienceInterceptor.CIRCUIT_OPEN, refused.getReason());
+        assertEquals(2, exchanges.get());
+        assertEquals(10, meterRegistry.get("jsonplaceholder.upstream.bulkhead.available").gauge().value());
+    }
+
+    @Test
+    void testWebClientHoldsThePermitUntilTheBodyIsConsumed() {
+        interceptor = interceptor(new TokenBucket(1_000, 1_000));
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(BODY)
+                        .build()))
+                .filter(interceptor)
+                .build();
+
+        String body = webClient.get().uri(URL).exchangeToMono(response -> {
+            assertEquals(9, meterRegistry.get("jsonplaceholder.upstream.bulkhead.available").gauge().value());
+            return response.bodyToMono(String.class);
+        }).block();
+
+        assertEquals(BODY, body);
+        assertEquals(10, meterRegistry.get("jsonplaceholder.upstream.bulkhead.available").gauge().value());
+    }
+
+    private UpstreamResilienceInterceptor interceptor(TokenBucket rateLimiter) {
+        return new UpstreamResilienceInterceptor(circuitBreaker, 10, Duration.ZERO, rateLimiter, Duration.ZERO,
+                false, meterRegistry);
+    }
+}
@@ -1,21 +1,37 @@
 package dev.aparikh.jsonplaceholder.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.aparikh.jsonplaceholder.config.CacheConfig;
+import dev.aparikh.jsonplaceholder.dto.BatchItemResult;
 import dev.aparikh.jsonplaceholder.model.Post;
+import dev.aparikh.jsonplaceholder.model.RawResponse;
 import dev.aparikh.jsonplaceholder.service.DocumentService;
+import dev.aparikh.jsonplaceholder.service.FanOutService;
 import dev.aparikh.jsonplaceholder.service.JsonPlaceholderService;
+import dev.aparikh.jsonplaceholder.service.JsonStreamingService;
+import dev.aparikh.jsonplaceholder.service.PostStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.*;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -29,6 +45,15 @@ public class JsonPlaceholderControllerTest {
     @Mock
     private DocumentService documentService;
 
+    @Mock
+    private JsonStreamingService jsonStreamingService;
+
+    @Mock
+    private FanOutService fanOutService;
+
+    @Spy
+    private ResponseETags responseETags = new ResponseETags(new ObjectMapper());
+
     @InjectMocks
     private JsonPlaceholderController controller;
 
@@ -61,6 +86,100 @@ public class JsonPlaceholderControllerTest {
         verify(jsonPlaceholderService, times(1)).getAllPosts();
     }
 
+    @Test
+    public void getAllPosts_ShouldReturnETag() throws Exception {
+        // Arrange
+        List<Post> posts = List.of(new Post(1L, 1L, "Test Post 1", "This is test post 1"));
+        when(jsonPlaceholderService.getAllPosts()).thenReturn(posts);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/posts"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", responseETags.of(posts)));
+    }
+
+    @Test
+    public void getAllPosts_WhenETagMatches_ShouldReturnNotModified() throws Exception {
+        // Arrange
+        List<Post> posts = List.of(new Post(1L, 1L, "Test Post 1", "This is test post 1"));
+        when(jsonPlaceholderService.getAllPosts()).thenReturn(posts);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/posts")
+                .header("If-None-Match", responseETags.of(posts)))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    public void getAllPosts_WhenETagDoesNotMatch_ShouldReturnPosts() throws Exception {
+        // Arrange
+        List<Post> posts = List.of(new Post(1L, 1L, "Test Post 1", "This is test post 1"));
+        when(jsonPlaceholderService.getAllPosts()).thenReturn(posts);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/posts")
+                .header("If-None-Match", "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(1)));
+    }
+
+    @Test
+    public void getPostsByIds_ShouldReturnRequestedPosts() throws Exception {
+        // Arrange
+        List<Post> posts = Arrays.asList(
+                new Post(5L, 1L, "Test Post 5", "This is test post 5"),
+                new Post(9L, 1L, "Test Post 9", "This is test post 9")
+        );
+        when(jsonPlaceholderService.getPostsByIds(List.of(5L, 9L))).thenReturn(posts);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/posts")
+                .param("ids", "5,9")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("success")))
+                .andExpect(jsonPath("$.data", hasSize(2)))
+                .andExpect(jsonPath("$.data[0].id", is(5)))
+                .andExpect(jsonPath("$.data[1].id", is(9)));
+
+        verify(jsonPlaceholderService, times(1)).getPostsByIds(List.of(5L, 9L));
+        verify(jsonPlaceholderService, never()).getAllPosts();
+    }
+
+    @Test
+    public void getPostsByIds_WhenOneUpstreamCallFails_ShouldFailTheBatch() throws Exception {
+        // Arrange - a real service against a mock API, where post 2 fails with a 500
+        RestClient.Builder builder = RestClient.builder().baseUrl("https://example.test");
+        MockRestServiceServer server = MockRestServiceServer.bindTo(builder).ignoreExpectOrder(true).build();
+        server.expect(requestTo("https://example.test/posts/1"))
+                .andRespond(withSuccess("{\"id\":1,\"userId\":1,\"title\":\"Post 1\"}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo("https://example.test/posts/2")).andRespond(withServerError());
+        server.expect(requestTo("https://example.test/posts/3"))
+                .andRespond(withSuccess("{\"id\":3,\"userId\":1,\"title\":\"Post 3\"}", MediaType.APPLICATION_JSON));
+        JsonPlaceholderService service = new JsonPlaceholderService(builder.build(), new PostStore(),
+                new ConcurrentMapCacheManager("posts"), new CacheConfig.CacheProperties(), 2);
+        MockMvc batchMockMvc = MockMvcBuilders.standaloneSetup(new JsonPlaceholderController(service, documentService,
+                responseETags, jsonStreamingService, fanOutService)).build();
+
+        // Act & Assert - the batch names the failed post instead of returning a shorter list
+        batchMockMvc.perform(get("/api/posts")
+                .param("ids", "1,2,3")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.status", is("error")))
+                .andExpect(jsonPath("$.message", containsString("IDs [2]")));
+
+        // Act & Assert - the posts that were fetched are cached
+        batchMockMvc.perform(get("/api/posts")
+                .param("ids", "1,3")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(2)));
+
+        server.verify();
+    }
+
     @Test
     public void getPostById_WhenPostExists_ShouldReturnPost() throws Exception {
         // Arrange
@@ -139,6 +258,167 @@ public class JsonPlaceholderControllerTest {
         verify(jsonPlaceholderService, times(1)).getForObject(eq("/users"), eq(Object.class));
     }
 
+    @Test
+    public void getGenericData_WhenETagMatches_ShouldReturnNotModified() throws Exception {
+        // Arrange
+        Map<String, Object> userData = Map.of("id", 1, "name", "John Doe");
+        when(jsonPlaceholderService.getForObject(eq("/users"), eq(Object.class))).thenReturn(userData);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/posts/generic/users")
+                .header("If-None-Match", responseETags.of(userData)))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void getGenericDataBatch_ShouldReturnPartialResults() throws Exception {
+        // Arrange
+        List<String> paths = List.of("/users/1", "/posts/999");
+        when(fanOutService.fetchAll(paths)).thenReturn(List.of(
+                BatchItemResult.success("/users/1", Map.of("id", 1)),
+                BatchItemResult.error("/posts/999", "No data found at path: /posts/999")));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/posts/generic/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[\"/users/1\", \"/posts/999\"]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("success")))
+                .andExpect(jsonPath("$.message", is("1 of 2 resources could not be retrieved")))
+                .andExpect(jsonPath("$.data", hasSize(2)))
+                .andExpect(jsonPath("$.data[0].path", is("/users/1")))
+                .andExpect(jsonPath("$.data[0].data.id", is(1)))
+                .andExpect(jsonPath("$.data[1].status", is("error")));
+    }
+
+    @Test
+    public void getGenericDataBatch_WithTooManyPaths_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        String paths = String.join(",", Collections.nCopies(101, "\"/users/1\""));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/posts/generic/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[" + paths + "]"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(fanOutService);
+    }
+
+    @Test
+    public void getGenericDataById_WithRaw_ShouldWrapUpstreamBytes() throws Exception {
+        // Arrange
+        RawResponse raw = new RawResponse("{\"id\":1,\"name\":\"Leanne Graham\"}".getBytes(),
+                "application/json;charset=utf-8", "W/\"1f-abc\"", "Tue, 15 Nov 1994 12:45:26 GMT");
+        when(jsonPlaceholderService.getRaw("/users/{id}", Map.of("id", "1"))).thenReturn(raw);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/posts/generic/users/1")
+                .param("raw", "true"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(
+                        "{\"status\":\"success\",\"data\":{\"id\":1,\"name\":\"Leanne Graham\"},\"message\":null}"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("ETag", responseETags.of(raw)))
+                .andExpect(header().string("Last-Modified", "Tue, 15 Nov 1994 12:45:26 GMT"));
+
+        verify(jsonPlaceholderService, never()).getForObject(anyString(), eq(Object.class), anyMap());
+    }
+
+    @Test
+    public void getGenericData_WithRaw_WhenNotFound_ShouldReturnNotFound() throws Exception {
+        // Arrange
+        when(jsonPlaceholderService.getRaw("/missing", Map.of())).thenReturn(null);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/posts/generic/missing")
+                .param("raw", "true"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status", is("error")))
+                .andExpect(jsonPath("$.message", is("No data found at path: missing")));
+    }
+
+    @Test
+    public void getGenericData_WithRaw_WhenUpstreamIsNotJson_ShouldReturnBadGateway() throws Exception {
+        // Arrange
+        RawResponse raw = new RawResponse("<html></html>".getBytes(), "text/html", null, null);
+        when(jsonPlaceholderService.getRaw("/users", Map.of())).thenReturn(raw);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/posts/generic/users")
+                .param("raw", "true"))
+                .andExpect(status().isBadGateway())
+                .andExpect(jsonPath("$.status", is("error")));
+    }
+
+    @Test
+    public void getGenericData_WithRaw_WhenUpstreamBodyIsEmpty_ShouldReturnBadGateway() throws Exception {
+        // Arrange
+        RawResponse raw = new RawResponse(new byte[0], "application/json", null, null);
+        when(jsonPlaceholderService.getRaw("/users", Map.of())).thenReturn(raw);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/posts/generic/users")
+                .param("raw", "true"))
+                .andExpect(status().isBadGateway())
+                .andExpect(jsonPath("$.status", is("error")))
+                .andExpect(jsonPath("$.message", is("Upstream returned an empty body")));
+    }
+
+    @Test
+    public void getGenericData_WithStream_ShouldStreamUpstreamData() throws Exception {
+        // Arrange
+        String envelope = "{\"status\":\"success\",\"data\":[{\"id\":1}],\"message\":null}";
+        StreamingResponseBody body = out -> out.write(envelope.getBytes());
+        when(jsonStreamingService.stream("/photos", Map.of())).thenReturn(Optional.of(body));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/posts/generic/photos")
+                .param("stream", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("success")))
+                .andExpect(jsonPath("$.data[0].id", is(1)));
+
+        verify(jsonPlaceholderService, never()).getForObject(anyString(), eq(Object.class));
+    }
+
+    @Test
+    public void getGenericDataWithParams_WithStream_ShouldNotForwardStreamParam() throws Exception {
+        // Arrange
+        when(jsonStreamingService.stream(anyString(), anyMap())).thenReturn(Optional.of(out -> {
+        }));
+
+        // Act
+        mockMvc.perform(get("/api/posts/generic/comments/query")
+                .param("stream", "true")
+                .param("postId", "1"))
+                .andExpect(request().asyncStarted());
+
+        // Assert
+        verify(jsonStreamingService).stream("/comments?postId={postId}", Map.of("postId", "1"));
+    }
+
+    @Test
+    public void getGenericData_WithStream_WhenNotFound_ShouldReturnNotFound() throws Exception {
+        // Arrange
+        when(jsonStreamingService.stream("/missing", Map.of())).thenReturn(Optional.empty());
+        when(jsonStreamingService.error(anyString())).thenReturn(out -> out.write("{}".getBytes()));
+
+        // Act & Assert
+        MvcResult result = mockMvc.perform(get("/api/posts/generic/missing")
+                .param("stream", "true"))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+
+        verify(jsonStreamingService).error("No data found at path: missing");
+    }
+
     @Test
     public void generateDocument_WithPdfFormat_ShouldReturnPdfDocument() throws Exception {
         // Arrange
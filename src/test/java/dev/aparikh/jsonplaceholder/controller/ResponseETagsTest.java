@@ -0,0 +1,55 @@
+package dev.aparikh.jsonplaceholder.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.aparikh.jsonplaceholder.model.Post;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for ResponseETags
+ */
+class ResponseETagsTest {
+
+    @Test
+    void equalDataHasEqualStrongTags() {
+        ResponseETags eTags = new ResponseETags(new ObjectMapper());
+
+        String first = eTags.of(List.of(new Post(1L, 1L, "Title", "Body")));
+        String second = eTags.of(List.of(new Post(1L, 1L, "Title", "Body")));
+
+        assertEquals(first, second);
+        assertTrue(first.startsWith("\"") && first.endsWith("\""), "strong tags are quoted: " + first);
+        assertFalse(first.startsWith("W/"));
+    }
+
+    @Test
+    void changedDataChangesTag() {
+        ResponseETags eTags = new ResponseETags(new ObjectMapper());
+
+        String before = eTags.of(List.of(new Post(1L, 1L, "Title", "Body")));
+        String after = eTags.of(List.of(new Post(1L, 1L, "Title", "Edited body")));
+
+        assertNotEquals(before, after);
+    }
+
+    @Test
+    void tagIsComputedOncePerInstance() throws Exception {
+        ObjectMapper objectMapper = Mockito.spy(new ObjectMapper());
+        ResponseETags eTags = new ResponseETags(objectMapper);
+        List<Post> snapshot = new ArrayList<>(List.of(new Post(1L, 1L, "Title", "Body")));
+
+        String first = eTags.of(snapshot);
+        String second = eTags.of(snapshot);
+
+        assertEquals(first, second);
+        verify(objectMapper, times(1)).writeValueAsBytes(any());
+    }
+}
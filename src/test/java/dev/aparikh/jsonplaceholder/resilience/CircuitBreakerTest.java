@@ -0,0 +1,126 @@
+package dev.aparikh.jsonplaceholder.resilience;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CircuitBreaker
+ */
+class CircuitBreakerTest {
+
+    private MutableClock clock;
+    private CircuitBreaker circuitBreaker;
+    private List<CircuitBreaker.StateChangedEvent> events;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        circuitBreaker = new CircuitBreaker("redis", 10, 4, 50, Duration.ofSeconds(5), clock);
+        events = new ArrayList<>();
+        circuitBreaker.addListener(events::add);
+    }
+
+    @Test
+    void testOpensWhenFailureRateReachesThreshold() {
+        circuitBreaker.onError();
+        circuitBreaker.onError();
+        circuitBreaker.onError();
+        // Below the minimum number of calls the breaker stays closed
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+
+        circuitBreaker.onSuccess();
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+        assertEquals(List.of(new CircuitBreaker.StateChangedEvent("redis", CircuitBreaker.State.CLOSED, CircuitBreaker.State.OPEN)), events);
+    }
+
+    @Test
+    void testStaysClosedBelowThreshold() {
+        for (int i = 0; i < 20; i++) {
+            circuitBreaker.onSuccess();
+            circuitBreaker.onSuccess();
+            circuitBreaker.onError();
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void testTrialCallAfterOpenDuration() {
+        circuitBreaker.forceOpen();
+        clock.advance(Duration.ofSeconds(4));
+        assertFalse(circuitBreaker.tryAcquirePermission());
+
+        clock.advance(Duration.ofSeconds(1));
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        // Only one trial call is let through while half-open
+        assertFalse(circuitBreaker.tryAcquirePermission());
+        circuitBreaker.onError();
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        clock.advance(Duration.ofSeconds(5));
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        circuitBreaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void testCancelledTrialCallReopensBreaker() {
+        circuitBreaker.forceOpen();
+        clock.advance(Duration.ofSeconds(5));
+        assertTrue(circuitBreaker.tryAcquirePermission());
+
+        circuitBreaker.onCancelled();
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        clock.advance(Duration.ofSeconds(5));
+        assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void testProbeClosesBreaker() {
+        circuitBreaker.forceOpen();
+
+        circuitBreaker.probe(() -> {
+            throw new IllegalStateException("still down");
+        });
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        circuitBreaker.probe(() -> "PONG");
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(CircuitBreaker.State.CLOSED, events.get(events.size() - 1).to());
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package dev.aparikh.jsonplaceholder.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TokenBucket
+ */
+class TokenBucketTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void testBurstUpToCapacityThenRefuses() {
+        TokenBucket bucket = new TokenBucket(10, 3, now::get);
+
+        assertEquals(0, bucket.reserve(0));
+        assertEquals(0, bucket.reserve(0));
+        assertEquals(0, bucket.reserve(0));
+        assertEquals(-1, bucket.reserve(0));
+    }
+
+    @Test
+    void testRefillsAtConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(10, 1, now::get);
+        assertEquals(0, bucket.reserve(0));
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(-1, bucket.reserve(0));
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(0, bucket.reserve(0));
+    }
+
+    @Test
+    void testRefillIsCappedAtCapacity() {
+        TokenBucket bucket = new TokenBucket(10, 2, now::get);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(60));
+
+        assertEquals(2, bucket.availableTokens(), 1e-9);
+    }
+
+    @Test
+    void testReservationsQueueWithinTimeout() {
+        TokenBucket bucket = new TokenBucket(10, 1, now::get);
+        long timeout = TimeUnit.MILLISECONDS.toNanos(250);
+        assertEquals(0, bucket.reserve(timeout));
+
+        // Tokens arrive every 100 ms; each reservation waits behind the previous one
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), bucket.reserve(timeout), 1_000);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), bucket.reserve(timeout), 1_000);
+        assertEquals(-1, bucket.reserve(timeout));
+        assertEquals(-2, bucket.availableTokens(), 1e-9);
+    }
+
+    @Test
+    void testRejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0));
+    }
+}
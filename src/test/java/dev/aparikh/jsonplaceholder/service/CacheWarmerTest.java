@@ -0,0 +1,71 @@
+package dev.aparikh.jsonplaceholder.service;
+
+import dev.aparikh.jsonplaceholder.config.CacheConfig;
+import dev.aparikh.jsonplaceholder.model.Post;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CacheWarmer
+ */
+class CacheWarmerTest {
+
+    private JsonPlaceholderService jsonPlaceholderService;
+    private ConcurrentMapCacheManager cacheManager;
+    private CacheConfig.CacheProperties cacheProperties;
+
+    @BeforeEach
+    void setUp() {
+        jsonPlaceholderService = mock(JsonPlaceholderService.class);
+        cacheManager = new ConcurrentMapCacheManager("posts", "postsByUser", "apiData");
+        cacheProperties = new CacheConfig.CacheProperties();
+        cacheProperties.getWarmUp().setResources(List.of("/users"));
+    }
+
+    @Test
+    void testFillsPostCachesFromOneListCall() {
+        when(jsonPlaceholderService.getAllPosts()).thenReturn(List.of(
+                new Post(1L, 1L, "Post 1", "Body 1"),
+                new Post(2L, 1L, "Post 2", "Body 2"),
+                new Post(3L, 2L, "Post 3", "Body 3")));
+
+        assertTrue(warmer().warmUp());
+
+        verify(jsonPlaceholderService, times(1)).getAllPosts();
+        verify(jsonPlaceholderService).getForObject(eq("/users"), eq(Object.class));
+        assertEquals(2L, ((Post) cacheManager.getCache("posts").get(2L).get()).getId());
+        assertEquals(2, ((List<?>) cacheManager.getCache("postsByUser").get(1L).get()).size());
+    }
+
+    @Test
+    void testGivesUpAfterTimeBudget() {
+        cacheProperties.getWarmUp().setTimeBudget(Duration.ofMillis(50));
+        when(jsonPlaceholderService.getAllPosts()).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return List.of();
+        });
+
+        long start = System.nanoTime();
+        assertFalse(warmer().warmUp());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 5_000);
+    }
+
+    @Test
+    void testUpstreamFailureDoesNotPreventStartup() {
+        when(jsonPlaceholderService.getAllPosts()).thenThrow(new RuntimeException("upstream down"));
+
+        assertFalse(warmer().warmUp());
+    }
+
+    private CacheWarmer warmer() {
+        return new CacheWarmer(jsonPlaceholderService, cacheManager, cacheProperties);
+    }
+}
@@ -12,7 +12,7 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@SpringBootTest
+@SpringBootTest(properties = "cache.warm-up.enabled=false")
 public class DocumentServiceTest {
 
     @Autowired
@@ -0,0 +1,129 @@
+package dev.aparikh.jsonplaceholder.service;
+
+import dev.aparikh.jsonplaceholder.dto.BatchItemResult;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FanOutService
+ */
+class FanOutServiceTest {
+
+    private final JsonPlaceholderService jsonPlaceholderService = mock(JsonPlaceholderService.class);
+
+    @Test
+    void testResultsKeepRequestOrderAndReportFailuresPerItem() {
+        when(jsonPlaceholderService.getForObject("/users/1", Object.class)).thenReturn(Map.of("id", 1));
+        when(jsonPlaceholderService.getForObject("/users/999", Object.class)).thenReturn(null);
+        when(jsonPlaceholderService.getForObject("/broken", Object.class)).thenThrow(new RuntimeException("boom"));
+        FanOutService service = new FanOutService(jsonPlaceholderService, 4, Duration.ofSeconds(5));
+
+        List<BatchItemResult> results = service.fetchAll(
+                List.of("/users/1", "/users/999", "/broken", "https://example.com/users"));
+
+        assertEquals(List.of("/users/1", "/users/999", "/broken", "https://example.com/users"),
+                results.stream().map(BatchItemResult::getPath).toList());
+        assertEquals("success", results.get(0).getStatus());
+        assertEquals(Map.of("id", 1), results.get(0).getData());
+        assertEquals("error", results.get(1).getStatus());
+        assertEquals("error", results.get(2).getStatus());
+        assertTrue(results.get(2).getMessage().contains("boom"));
+        assertEquals("error", results.get(3).getStatus());
+        verify(jsonPlaceholderService, never()).getForObject(eq("https://example.com/users"), eq(Object.class));
+    }
+
+    @Test
+    void testDuplicatePathsAreFetchedOnce() {
+        when(jsonPlaceholderService.getForObject("/users/1", Object.class)).thenReturn(Map.of("id", 1));
+        FanOutService service = new FanOutService(jsonPlaceholderService, 4, Duration.ofSeconds(5));
+
+        List<BatchItemResult> results = service.fetchAll(List.of("/users/1", "/users/1"));
+
+        assertEquals(2, results.size());
+        assertEquals("success", results.get(1).getStatus());
+        verify(jsonPlaceholderService, times(1)).getForObject("/users/1", Object.class);
+    }
+
+    @Test
+    void testConcurrencyIsBounded() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(jsonPlaceholderService.getForObject(anyString(), eq(Object.class))).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            inFlight.decrementAndGet();
+            return Map.of();
+        });
+        FanOutService service = new FanOutService(jsonPlaceholderService, 3, Duration.ofSeconds(5));
+
+        List<String> paths = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            paths.add("/posts/" + i);
+        }
+        List<BatchItemResult> results = service.fetchAll(paths);
+
+        assertTrue(results.stream().allMatch(result -> "success".equals(result.getStatus())));
+        assertTrue(maxInFlight.get() <= 3, "at most 3 lookups should run at once, saw " + maxInFlight.get());
+    }
+
+    @Test
+    void testSlowLookupsAreCutOffAtTheDeadline() {
+        when(jsonPlaceholderService.getForObject("/fast", Object.class)).thenReturn(Map.of("id", 1));
+        when(jsonPlaceholderService.getForObject("/slow", Object.class)).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return Map.of();
+        });
+        FanOutService service = new FanOutService(jsonPlaceholderService, 4, Duration.ofMillis(200));
+
+        long start = System.nanoTime();
+        List<BatchItemResult> results = service.fetchAll(List.of("/fast", "/slow"));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals("success", results.get(0).getStatus());
+        assertEquals("error", results.get(1).getStatus());
+        assertTrue(results.get(1).getMessage().contains("Deadline"));
+        assertTrue(elapsedMillis < 2_000, "batch should return at the deadline, took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void testLookupsThatOutliveTheDeadlineAreNotInterrupted() throws Exception {
+        CountDownLatch finished = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        when(jsonPlaceholderService.getForObject("/slow", Object.class)).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+            finished.countDown();
+            return Map.of();
+        });
+        FanOutService service = new FanOutService(jsonPlaceholderService, 4, Duration.ofMillis(50));
+
+        List<BatchItemResult> results = service.fetchAll(List.of("/slow"));
+
+        assertEquals("error", results.get(0).getStatus());
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertFalse(interrupted.get(), "a lookup past the deadline may be loading a shared cache entry");
+    }
+
+    @Test
+    void testIsValidPath() {
+        assertTrue(FanOutService.isValidPath("/comments?postId=1"));
+        assertFalse(FanOutService.isValidPath("users/1"));
+        assertFalse(FanOutService.isValidPath("//evil.example.com/x"));
+        assertFalse(FanOutService.isValidPath("/redirect?to=http://evil.example.com"));
+        assertFalse(FanOutService.isValidPath(null));
+    }
+}
@@ -9,16 +9,23 @@ import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClient;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -28,7 +35,8 @@ import static org.mockito.Mockito.*;
 @TestPropertySource(properties = {
     "spring.cache.type=simple",
     "spring.data.redis.sentinel.master=",
-    "spring.data.redis.sentinel.nodes="
+    "spring.data.redis.sentinel.nodes=",
+    "cache.warm-up.enabled=false"
 })
 public class JsonPlaceholderServiceCacheTest {
 
@@ -54,9 +62,18 @@ public class JsonPlaceholderServiceCacheTest {
     @Autowired
     private RestClient restClient;
 
+    @Autowired
+    private PostStore postStore;
+
+    @Autowired
+    private CacheManager cacheManager;
+
     @BeforeEach
     void setUp() {
         reset(restClient);
+        // Start each test without a post list or snapshot so lookups go through the cache
+        cacheManager.getCache("posts").evict(SimpleKey.EMPTY);
+        postStore.clear();
     }
 
     @Test
@@ -132,4 +149,99 @@ public class JsonPlaceholderServiceCacheTest {
         // Verify that the API was called only once
         verify(restClient, times(1)).get();
     }
+
+    @Test
+    void testLookupsServedFromPostSnapshot() {
+        // Arrange
+        postStore.replace(List.of(
+            new Post(1L, 1L, "Title 1", "Body 1"),
+            new Post(2L, 1L, "Title 2", "Body 2"),
+            new Post(3L, 2L, "Title 3", "Body 3")
+        ), () -> Duration.ofHours(1));
+
+        // Act
+        Optional<Post> post = jsonPlaceholderService.getPostById(2L);
+        Optional<Post> missing = jsonPlaceholderService.getPostById(99L);
+        List<Post> userPosts = jsonPlaceholderService.getPostsByUserId(1L);
+
+        // Assert
+        assertTrue(post.isPresent());
+        assertEquals("Title 2", post.get().getTitle());
+        assertTrue(missing.isEmpty());
+        assertEquals(2, userPosts.size());
+
+        // Verify that the API was never called
+        verify(restClient, never()).get();
+    }
+
+    @Test
+    void testCachedPostListFillsSnapshot() {
+        // Arrange - the list was cached by another node, so this one never loaded it
+        cacheManager.getCache("posts").put(SimpleKey.EMPTY, List.of(new Post(7L, 3L, "Title 7", "Body 7")));
+
+        // Act
+        List<Post> posts = jsonPlaceholderService.getAllPosts();
+
+        // Assert
+        assertEquals(1, posts.size());
+        assertTrue(postStore.isLoaded());
+        assertEquals("Title 7", jsonPlaceholderService.getPostById(7L).orElseThrow().getTitle());
+        verify(restClient, never()).get();
+    }
+
+    @Test
+    void testBatchLookupFetchesOnlyMisses() {
+        // Arrange
+        Post fetchedPost = new Post(11L, 2L, "Title 11", "Body 11");
+
+        RestClient.RequestHeadersUriSpec<?> requestHeadersUriSpec = mock(RestClient.RequestHeadersUriSpec.class);
+        RestClient.RequestHeadersSpec<?> requestHeadersSpec = mock(RestClient.RequestHeadersSpec.class);
+        RestClient.ResponseSpec responseSpec = mock(RestClient.ResponseSpec.class);
+
+        doReturn(requestHeadersUriSpec).when(restClient).get();
+        doReturn(requestHeadersSpec).when(requestHeadersUriSpec).uri(anyString(), any(Object.class));
+        doReturn(responseSpec).when(requestHeadersSpec).retrieve();
+        doReturn(fetchedPost).when(responseSpec).body(Post.class);
+
+        // Post 10 is already cached by a single lookup
+        jsonPlaceholderService.getPostById(10L);
+
+        // Act - only posts 11 and 12 are fetched, then everything is served from the cache
+        List<Post> result1 = jsonPlaceholderService.getPostsByIds(List.of(10L, 11L, 12L, 11L));
+        List<Post> result2 = jsonPlaceholderService.getPostsByIds(List.of(12L, 10L, 11L));
+
+        // Assert
+        assertEquals(3, result1.size());
+        assertEquals(3, result2.size());
+        verify(restClient, times(3)).get();
+    }
+
+    @Test
+    void testNotFoundIsCachedButErrorsAreNot() {
+        // Arrange
+        RestClient.RequestHeadersUriSpec<?> requestHeadersUriSpec = mock(RestClient.RequestHeadersUriSpec.class);
+        RestClient.RequestHeadersSpec<?> requestHeadersSpec = mock(RestClient.RequestHeadersSpec.class);
+        RestClient.ResponseSpec responseSpec = mock(RestClient.ResponseSpec.class);
+
+        doReturn(requestHeadersUriSpec).when(restClient).get();
+        doReturn(requestHeadersSpec).when(requestHeadersUriSpec).uri(anyString(), any(Object.class));
+        doReturn(responseSpec).when(requestHeadersSpec).retrieve();
+        doThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, null, null))
+                .doThrow(new ResourceAccessException("Connection reset"))
+                .doThrow(new ResourceAccessException("Connection reset"))
+                .when(responseSpec).body(Post.class);
+
+        // Act - the 404 is remembered, so the second lookup does not call the API
+        Optional<Post> missing1 = jsonPlaceholderService.getPostById(404L);
+        Optional<Post> missing2 = jsonPlaceholderService.getPostById(404L);
+
+        // Act - transport errors are thrown every time instead of being cached as "not found"
+        assertThrows(RuntimeException.class, () -> jsonPlaceholderService.getPostById(503L));
+        assertThrows(RuntimeException.class, () -> jsonPlaceholderService.getPostById(503L));
+
+        // Assert
+        assertTrue(missing1.isEmpty());
+        assertTrue(missing2.isEmpty());
+        verify(restClient, times(3)).get();
+    }
 }
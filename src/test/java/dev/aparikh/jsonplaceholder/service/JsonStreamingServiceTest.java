@@ -0,0 +1,168 @@
+package dev.aparikh.jsonplaceholder.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link JsonStreamingService}
+ */
+class JsonStreamingServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private HttpServer upstream;
+    private JsonStreamingService service;
+
+    @BeforeEach
+    void startUpstream() throws IOException {
+        upstream = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        upstream.createContext("/photos", exchange -> {
+            byte[] body = photos(1_000).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        upstream.createContext("/missing", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        upstream.createContext("/broken", exchange -> {
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+        });
+        upstream.start();
+
+        RestClient restClient = RestClient.builder()
+                .baseUrl("http://127.0.0.1:" + upstream.getAddress().getPort())
+                .requestFactory(new JdkClientHttpRequestFactory(HttpClient.newHttpClient()))
+                .build();
+        service = new JsonStreamingService(restClient, objectMapper, 100);
+    }
+
+    @AfterEach
+    void stopUpstream() {
+        upstream.stop(0);
+    }
+
+    @Test
+    void streamWrapsUpstreamArrayInEnvelope() throws IOException {
+        Optional<StreamingResponseBody> body = service.stream("/photos", Map.of());
+        assertTrue(body.isPresent());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.get().writeTo(out);
+
+        JsonNode response = objectMapper.readTree(out.toByteArray());
+        assertEquals("success", response.get("status").asText());
+        assertTrue(response.get("message").isNull());
+        assertEquals(1_000, response.get("data").size());
+        assertEquals(999, response.get("data").get(999).get("id").asInt());
+        assertEquals("photo 999", response.get("data").get(999).get("title").asText());
+    }
+
+    @Test
+    void streamReturnsEmptyWhenUpstreamResourceIsMissing() {
+        assertTrue(service.stream("/missing", Map.of()).isEmpty());
+    }
+
+    @Test
+    void streamThrowsOnUpstreamError() {
+        assertThrows(RuntimeException.class, () -> service.stream("/broken", Map.of()));
+    }
+
+    @Test
+    void streamClosesUpstreamWhenRequestCompletesBeforeBodyIsWritten() throws Exception {
+        List<ClientHttpResponse> responses = new ArrayList<>();
+        RestClient restClient = RestClient.builder()
+                .baseUrl("http://127.0.0.1:" + upstream.getAddress().getPort())
+                .requestFactory(new JdkClientHttpRequestFactory(HttpClient.newHttpClient()))
+                .requestInterceptor((request, body, execution) -> {
+                    ClientHttpResponse response = mock(ClientHttpResponse.class,
+                            delegatesTo(execution.execute(request, body)));
+                    responses.add(response);
+                    return response;
+                })
+                .build();
+        service = new JsonStreamingService(restClient, objectMapper, 100);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            StreamingResponseBody body = service.stream("/photos", Map.of()).orElseThrow();
+
+            // The asynchronous request timed out or the client went away before the body ran
+            WebAsyncUtils.getAsyncManager(request).getCallableInterceptor(body)
+                    .afterCompletion(new ServletWebRequest(request), () -> null);
+            assertThrows(IOException.class, () -> body.writeTo(new ByteArrayOutputStream()));
+
+            verify(responses.get(0), times(1)).close();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    void copyWrapsSingleObject() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long elements = service.copy(new ByteArrayInputStream("{\"id\":1,\"tags\":[\"a\",\"b\"]}".getBytes()), out);
+
+        assertEquals(1, elements);
+        assertEquals("{\"status\":\"success\",\"data\":{\"id\":1,\"tags\":[\"a\",\"b\"]},\"message\":null}",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void copyFailsOnTruncatedArray() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThrows(IOException.class,
+                () -> service.copy(new ByteArrayInputStream("[{\"id\":1},{\"id\"".getBytes()), out));
+    }
+
+    @Test
+    void errorWritesErrorEnvelope() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.error("No data found").writeTo(out);
+
+        JsonNode response = objectMapper.readTree(out.toByteArray());
+        assertEquals("error", response.get("status").asText());
+        assertEquals("No data found", response.get("message").asText());
+    }
+
+    private static String photos(int count) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i).append(",\"title\":\"photo ").append(i).append("\"}");
+        }
+        return json.append(']').toString();
+    }
+}
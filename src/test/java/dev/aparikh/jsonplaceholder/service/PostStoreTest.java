@@ -0,0 +1,110 @@
+package dev.aparikh.jsonplaceholder.service;
+
+import dev.aparikh.jsonplaceholder.model.Post;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PostStore
+ */
+class PostStoreTest {
+
+    @Test
+    void testEmptyStoreReturnsNothing() {
+        PostStore store = new PostStore();
+
+        assertFalse(store.isLoaded());
+        assertTrue(store.findById(1L).isEmpty());
+        assertTrue(store.findByUserId(1L).isEmpty());
+        assertTrue(store.findAll().isEmpty());
+    }
+
+    @Test
+    void testLookupsByIdAndUserId() {
+        List<Post> posts = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            posts.add(new Post(id, (id - 1) / 10 + 1, "Title " + id, "Body " + id));
+        }
+        PostStore store = new PostStore();
+        store.replace(posts, () -> Duration.ofHours(1));
+
+        assertTrue(store.isLoaded());
+        assertEquals(100, store.findAll().size());
+        for (long id = 1; id <= 100; id++) {
+            assertEquals("Title " + id, store.findById(id).orElseThrow().getTitle());
+        }
+        assertTrue(store.findById(0L).isEmpty());
+        assertTrue(store.findById(101L).isEmpty());
+        assertEquals(10, store.findByUserId(3L).size());
+        assertEquals(21L, store.findByUserId(3L).get(0).getId());
+        assertTrue(store.findByUserId(11L).isEmpty());
+    }
+
+    @Test
+    void testReplaceSwapsSnapshot() {
+        PostStore store = new PostStore();
+        store.replace(List.of(new Post(1L, 1L, "Old", "Body")), () -> Duration.ofHours(1));
+
+        List<Post> before = store.findAll();
+        store.replace(List.of(new Post(1L, 1L, "New", "Body"), new Post(2L, 2L, "Added", "Body")),
+                () -> Duration.ofHours(1));
+
+        // Readers holding the old snapshot keep a consistent view
+        assertEquals(1, before.size());
+        assertEquals("New", store.findById(1L).orElseThrow().getTitle());
+        assertEquals(1, store.findByUserId(2L).size());
+    }
+
+    @Test
+    void testSameListDoesNotRebuildSnapshot() {
+        PostStore store = new PostStore();
+        List<Post> posts = List.of(new Post(1L, 1L, "Title", "Body"));
+        store.replace(posts, () -> Duration.ofHours(1));
+
+        List<Post> before = store.findAll();
+        store.replace(posts, () -> fail("time-to-live should only be read when the snapshot is rebuilt"));
+
+        assertSame(before, store.findAll());
+    }
+
+    @Test
+    void testSnapshotExpiresWithCacheEntry() {
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+        AtomicReference<Instant> now = new AtomicReference<>(start);
+        PostStore store = new PostStore(new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now.get();
+            }
+        });
+        store.replace(List.of(new Post(1L, 1L, "Title", "Body")), () -> Duration.ofMinutes(10));
+
+        now.set(start.plus(Duration.ofMinutes(9)));
+        assertTrue(store.findById(1L).isPresent());
+
+        now.set(start.plus(Duration.ofMinutes(10)));
+        assertFalse(store.isLoaded());
+        assertTrue(store.findById(1L).isEmpty());
+        assertTrue(store.findAll().isEmpty());
+    }
+}
@@ -0,0 +1,107 @@
+package dev.aparikh.jsonplaceholder.service;
+
+import dev.aparikh.jsonplaceholder.cache.ReactiveCache;
+import dev.aparikh.jsonplaceholder.model.Post;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ReactiveJsonPlaceholderService
+ */
+class ReactiveJsonPlaceholderServiceTest {
+
+    private Queue<String> requestedPaths;
+    private PostStore postStore;
+    private ReactiveJsonPlaceholderService service;
+
+    @BeforeEach
+    void setUp() {
+        requestedPaths = new ConcurrentLinkedQueue<>();
+        WebClient webClient = WebClient.builder()
+                .baseUrl("https://jsonplaceholder.typicode.com")
+                .exchangeFunction(request -> {
+                    String path = request.url().getPath()
+                            + (request.url().getQuery() != null ? "?" + request.url().getQuery() : "");
+                    requestedPaths.add(path);
+                    return Mono.just(respond(path));
+                })
+                .build();
+        postStore = new PostStore();
+        ReactiveCache cache = new ReactiveCache("reactive-posts", Duration.ofHours(1), Duration.ofMinutes(1),
+                1_000_000, new SimpleMeterRegistry());
+        service = new ReactiveJsonPlaceholderService(webClient, postStore, cache, 4);
+    }
+
+    @Test
+    void testGetAllPostsIsCachedAndFillsSnapshot() {
+        List<Post> posts = service.getAllPosts().collectList().block();
+        service.getAllPosts().collectList().block();
+
+        assertEquals(2, posts.size());
+        assertEquals(List.of("/posts"), List.copyOf(requestedPaths));
+        assertTrue(postStore.isLoaded());
+
+        // Served from the snapshot without another upstream call
+        assertEquals("Second", service.getPostById(2L).block().getTitle());
+        assertEquals(1, requestedPaths.size());
+    }
+
+    @Test
+    void testMissingPostCompletesEmptyAndIsCached() {
+        assertNull(service.getPostById(999L).block());
+        assertNull(service.getPostById(999L).block());
+
+        assertEquals(List.of("/posts/999"), List.copyOf(requestedPaths));
+    }
+
+    @Test
+    void testGetPostsByIdsKeepsRequestedOrderAndSkipsMissingPosts() {
+        List<Post> posts = service.getPostsByIds(List.of(2L, 999L, 1L, 2L)).collectList().block();
+
+        assertEquals(List.of(2L, 1L), posts.stream().map(Post::getId).toList());
+        assertEquals(3, requestedPaths.size());
+    }
+
+    @Test
+    void testGetPostsByUserId() {
+        List<Post> posts = service.getPostsByUserId(1L).collectList().block();
+
+        assertEquals(1, posts.size());
+        assertEquals(List.of("/posts?userId=1"), List.copyOf(requestedPaths));
+    }
+
+    private static ClientResponse respond(String path) {
+        String body = switch (path) {
+            case "/posts" -> "[" + post(1, 1, "First") + "," + post(2, 2, "Second") + "]";
+            case "/posts?userId=1" -> "[" + post(1, 1, "First") + "]";
+            case "/posts/1" -> post(1, 1, "First");
+            case "/posts/2" -> post(2, 2, "Second");
+            default -> null;
+        };
+        if (body == null) {
+            return ClientResponse.create(HttpStatus.NOT_FOUND).build();
+        }
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+    }
+
+    private static String post(long id, long userId, String title) {
+        return "{\"id\":" + id + ",\"userId\":" + userId + ",\"title\":\"" + title + "\",\"body\":\"Body\"}";
+    }
+}
@@ -71,6 +71,7 @@ public class RedisSentinelCacheTest {
         registry.add("spring.data.redis.sentinel.nodes", () -> "");
         // Enable Redis cache
         registry.add("spring.cache.type", () -> "redis");
+        registry.add("cache.warm-up.enabled", () -> "false");
     }
 
     @TestConfiguration
@@ -99,9 +100,14 @@ public class RedisSentinelCacheTest {
     @Autowired
     private RestClient restClient;
 
+    @Autowired
+    private PostStore postStore;
+
     @BeforeEach
     void setUp() {
         reset(restClient);
+        // Start each test without a post snapshot so lookups go through the cache
+        postStore.clear();
     }
 
     @Test
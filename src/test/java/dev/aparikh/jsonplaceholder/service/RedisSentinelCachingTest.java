@@ -51,6 +51,7 @@ public class RedisSentinelCachingTest {
         registry.add("spring.data.redis.sentinel.nodes", () -> "");
         // Enable Redis cache
         registry.add("spring.cache.type", () -> "redis");
+        registry.add("cache.warm-up.enabled", () -> "false");
     }
 
     @TestConfiguration
@@ -79,9 +80,14 @@ public class RedisSentinelCachingTest {
     @Autowired
     private RestClient restClient;
 
+    @Autowired
+    private PostStore postStore;
+
     @BeforeEach
     void setUp() {
         reset(restClient);
+        // Start each test without a post snapshot so lookups go through the cache
+        postStore.clear();
     }
 
     @Test